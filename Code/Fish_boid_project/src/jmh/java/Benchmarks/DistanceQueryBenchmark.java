@@ -0,0 +1,152 @@
+/**
+ * DistanceQueryBenchmark.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Benchmarks;
+
+import Main.CreatureStore;
+import Main.DistanceQuery;
+import Main.SeaCreature;
+import Main.SimulationWorld;
+import Main.SpatialGrid;
+import Main.TickMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a distance query benchmark class, timing the radius test for one neighbour pair,
+ * the old way with a square root before comparing, squared distances with a bounding box test first,
+ * and the distance query's squared distances alone.
+ * ============
+ * The pairs are every fish and the fish in the grid cells around it, taken from a world left to flock for a while,
+ * so the share of pairs in range is what a real tick sees rather than evenly spread points.
+ * All three do the separation sum on the pairs in range, so the result is used and cannot be skipped.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DistanceQueryBenchmark {
+    private static final double BOARD_WIDTH = 990, BOARD_HEIGHT = 675;//size of the board in the UI
+    private static final double NEIGHBOUR_DISTANCE = 50;//fish neighbour radius
+    private static final int PAIRS = 1 << 16;
+    private static final long SEED = 42;
+
+    @Param({"1000", "5000"})
+    public int fishCount;
+
+    @Param({"30", "50"})
+    public double radius;
+
+    private final double[] diffX = new double[PAIRS];
+    private final double[] diffY = new double[PAIRS];
+
+    /**
+     * Flocks a world on the real board size and collects the position differences of neighbouring grid pairs.
+     */
+    @Setup
+    public void setUp() {
+        SimulationWorld world = new SimulationWorld(BOARD_WIDTH, BOARD_HEIGHT, TickMode.SEQUENTIAL, SEED);
+        Random random = new Random(SEED);
+        for (int i = 0; i < fishCount; i++) {
+            world.spawn("fish", random.nextDouble() * BOARD_WIDTH, random.nextDouble() * BOARD_HEIGHT,
+                    random.nextInt(4));
+        }
+        world.step(200);//let schools form
+        CreatureStore store = world.getStore();
+        SpatialGrid grid = world.getFishGrid();
+        int pairs = 0;
+        for (int fish = 0; pairs < PAIRS; fish = (fish + 1) % store.size()) {
+            double x = store.get(fish).getX(), y = store.get(fish).getY();
+            //the same cells a fish searches for neighbours
+            for (int row = grid.cellRow(y - NEIGHBOUR_DISTANCE); row <= grid.cellRow(y + NEIGHBOUR_DISTANCE); row++) {
+                for (int column = grid.cellColumn(x - NEIGHBOUR_DISTANCE); column <= grid.cellColumn(x + NEIGHBOUR_DISTANCE); column++) {
+                    for (int i = grid.cellStart(column, row); i < grid.cellEnd(column, row) && pairs < PAIRS; i++) {
+                        SeaCreature other = store.get(grid.get(i));
+                        diffX[pairs] = x - other.getX();
+                        diffY[pairs] = y - other.getY();
+                        pairs++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The radius test as it was, a square root for every pair.
+     *
+     * @return separation sum.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double sqrtThenCompare() {
+        double sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            double distance = Math.sqrt(diffX[i] * diffX[i] + diffY[i] * diffY[i]);
+            if (distance > 0 && distance < radius) {
+                sum += diffX[i] / distance / distance + diffY[i] / distance / distance;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Squared distances with a bounding box test first, which the distance query leaves out.
+     *
+     * @return separation sum.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double squaredWithBoxReject() {
+        double radiusSq = radius * radius;
+        double sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            double x = diffX[i], y = diffY[i];
+            if (x >= radius || x <= -radius || y >= radius || y <= -radius) {
+                continue;
+            }
+            double distanceSq = x * x + y * y;
+            if (distanceSq > 0 && distanceSq < radiusSq) {
+                sum += x / distanceSq + y / distanceSq;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * The radius test through the distance query, squared distances only.
+     *
+     * @return separation sum.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double distanceQuery() {
+        double sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            double distanceSq = DistanceQuery.distanceSqWithin(diffX[i], diffY[i], radius);
+            if (distanceSq > 0) {
+                sum += diffX[i] / distanceSq + diffY[i] / distanceSq;
+            }
+        }
+        return sum;
+    }
+}
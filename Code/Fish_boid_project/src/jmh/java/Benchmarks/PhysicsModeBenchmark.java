@@ -0,0 +1,115 @@
+/**
+ * PhysicsModeBenchmark.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Benchmarks;
+
+import Main.CreatureStore;
+import Main.PhysicsMode;
+import Main.Precision;
+import Main.SimulationWorld;
+import Main.TickMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a physics mode benchmark class, timing the physics update one creature at a time against the vector update.
+ * Needs the vector update, built with the vector profile, and the vector API module, which the benchmark profile adds.
+ * ============
+ * Each runs over a double store and a float store, which moves twice as many creatures per vector.
+ * That both updates give exactly the same results is checked by PhysicsHandlerTest.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PhysicsModeBenchmark {
+    private static final double BOARD_WIDTH = 990, BOARD_HEIGHT = 675;//size of the board in the UI
+    private static final int BOARD_FISH = 1000;//fish on a normal sized board
+    private static final long SEED = 42;
+
+    @Param({"1000", "10000", "100000"})
+    public int fishCount;
+
+    @Param({"SCALAR", "VECTOR"})
+    public PhysicsMode physicsMode;
+
+    @Param({"DOUBLE", "FLOAT"})
+    public Precision precision;
+
+    private SimulationWorld world;
+
+    /**
+     * Checks the chosen mode can run, as the physics handler would otherwise quietly time the scalar update twice.
+     */
+    @Setup(Level.Trial)
+    public void checkMode() {
+        if (!physicsMode.isAvailable()) {
+            throw new IllegalStateException("Build with -Pvector and run with --add-modules jdk.incubator.vector");
+        }
+    }
+
+    /**
+     * Builds a fresh world with randomly placed fish in the chosen physics mode and precision.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        world = createWorld(fishCount, physicsMode, precision);
+        world.step(10);//let the creatures get moving before timing
+    }
+
+    /**
+     * Builds a world with randomly placed fish and a few sharks, at the density of 1,000 fish on the real board.
+     *
+     * @param fish fish count.
+     * @param mode physics mode.
+     * @param precision how precisely the world keeps its state.
+     * @return new world.
+     */
+    private static SimulationWorld createWorld(int fish, PhysicsMode mode, Precision precision) {
+        double scale = Math.sqrt(Math.max(1.0, (double) fish / BOARD_FISH));
+        SimulationWorld world = new SimulationWorld(BOARD_WIDTH * scale, BOARD_HEIGHT * scale, TickMode.SEQUENTIAL,
+                SEED, mode, precision);
+        Random random = new Random(SEED);
+        for (int i = 0; i < fish; i++) {
+            world.spawn("fish", random.nextDouble() * world.getWidth(), random.nextDouble() * world.getHeight(),
+                    random.nextInt(4));
+        }
+        for (int i = 0; i < 5; i++) {
+            world.spawn("shark", random.nextDouble() * world.getWidth(), random.nextDouble() * world.getHeight(),
+                    CreatureStore.NO_COLOUR);
+        }
+        return world;
+    }
+
+    /**
+     * Only the physics update over every creature in the store.
+     *
+     * @return the store, so the work cannot be skipped.
+     */
+    @Benchmark
+    public CreatureStore physicsUpdate() {
+        CreatureStore store = world.getStore();
+        world.getPhysicsHandler().physicsUpdate(store);
+        return store;
+    }
+}
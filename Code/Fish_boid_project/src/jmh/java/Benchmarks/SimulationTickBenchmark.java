@@ -0,0 +1,106 @@
+/**
+ * SimulationTickBenchmark.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Benchmarks;
+
+import Main.CreatureStore;
+import Main.PhysicsHandler;
+import Main.SimulationWorld;
+import Main.TickMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is a simulation tick benchmark class, timing whole headless ticks and the physics update on their own.
+ * Run with mvn -Pbenchmark verify, which also reports the allocation rate through the gc profiler.
+ * ============
+ * The board grows with the fish count so every run has about the same density as 1,000 fish on the real board,
+ * otherwise larger counts would only measure overcrowding.
+ * The world is rebuilt from the same seed before every iteration so sharks eating fish cannot drift the counts.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulationTickBenchmark {
+    private static final double BOARD_WIDTH = 990, BOARD_HEIGHT = 675;//size of the board in the UI
+    private static final int BOARD_FISH = 1000;//fish on a normal sized board
+    private static final long SEED = 42;
+
+    @Param({"100", "1000", "10000", "50000"})
+    public int fishCount;
+
+    @Param({"0", "5", "25"})
+    public int sharkCount;
+
+    @Param({"1", "4"})
+    public int colourCount;
+
+    @Param({"SEQUENTIAL", "PARALLEL"})
+    public TickMode tickMode;
+
+    private SimulationWorld world;
+    private final PhysicsHandler physicsHandler = new PhysicsHandler();
+
+    /**
+     * Builds a fresh world with randomly placed creatures.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        double scale = Math.sqrt(Math.max(1.0, (double) fishCount / BOARD_FISH));
+        world = new SimulationWorld(BOARD_WIDTH * scale, BOARD_HEIGHT * scale, tickMode, SEED);
+        Random random = new Random(SEED);
+        for (int i = 0; i < fishCount; i++) {
+            world.spawn("fish", random.nextDouble() * world.getWidth(), random.nextDouble() * world.getHeight(),
+                    random.nextInt(colourCount));
+        }
+        for (int i = 0; i < sharkCount; i++) {
+            world.spawn("shark", random.nextDouble() * world.getWidth(), random.nextDouble() * world.getHeight(),
+                    CreatureStore.NO_COLOUR);
+        }
+        world.step(10);//let the creatures get moving before timing
+    }
+
+    /**
+     * One full tick: grid rebuild, steering, eating and physics.
+     *
+     * @return the world, so the work cannot be skipped.
+     */
+    @Benchmark
+    public SimulationWorld tick() {
+        world.step();
+        return world;
+    }
+
+    /**
+     * Only the physics update over every creature in the store.
+     *
+     * @return the store, so the work cannot be skipped.
+     */
+    @Benchmark
+    public CreatureStore physicsUpdate() {
+        CreatureStore store = world.getStore();
+        physicsHandler.physicsUpdate(store);
+        return store;
+    }
+}
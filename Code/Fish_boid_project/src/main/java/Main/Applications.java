@@ -6,30 +6,56 @@
  */
 package Main;
 
+import UI.BoardRenderer;
 import UI.Colour;
+import UI.RenderMode;
 import UI.UiController;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import javax.management.JMException;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.stream.Stream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
 
 /**
  * This is an applications class for running the program.
+ * Run with -Dfishboid.snapshot=file to carry the board over between runs, it is loaded on start if it exists
+ * and saved when the window closes.
+ * Run with -Dfishboid.record=file to record every fish's trajectory until the window closes.
+ * Run with -Dfishboid.seed=number to make the run repeatable, otherwise a random seed is used.
+ * Run with -Dfishboid.inputs=file to log every spawn and clear, which ReplayEngine can replay headlessly.
+ * Inputs cannot be logged on top of a loaded snapshot, as replays start from an empty board.
+ * Run with -Dfishboid.population=count to start with that many fish of every colour spread over the board,
+ * shift clicking the board spawns a batch of the selected creature the same way.
+ * Run with -Dfishboid.profile=true to time each phase of a tick, shown over the board and through JMX.
+ * Run with -XX:StartFlightRecording to record every tick, fish eaten and spawn batch as flight recorder events.
+ * Run with -Dfishboid.physics=vector and --add-modules jdk.incubator.vector to move several creatures per instruction,
+ * which needs a build with the vector profile, mvn -Pvector.
+ * Run with -Dfishboid.precision=float to keep positions and velocities as floats and move them with float maths,
+ * PrecisionDrift compares it headlessly.
  *
  * @author Jacob Broomfield
  * @version 1.0
  */
 public class Applications extends Application {
     private static final double STAGE_WIDTH = 1600, STAGE_HEIGHT = 937, STAGE_POSITION = 100;
+    private static final String SNAPSHOT_PROPERTY = "fishboid.snapshot";
+    private static final String RECORD_PROPERTY = "fishboid.record";
+    private static final String INPUTS_PROPERTY = "fishboid.inputs";
+    private static final String POPULATION_PROPERTY = "fishboid.population";
     private Stage primaryStage;
     private UiController controller;
-    private final ArrayList<Fish> fishes = new ArrayList<>();
-    private final ArrayList<Shark> sharks = new ArrayList<>();
-    PhysicsHandler physicsHandler = new PhysicsHandler();
+    private final SimulationWorld world = new SimulationWorld(0, 0, TickMode.fromSystemProperty(),
+            Long.getLong("fishboid.seed", System.nanoTime()));
+    private SimulationLoop simulationLoop;
+    private TrajectoryRecorder recorder;
+    private InputLog inputLog;
+    private PopulationGenerator populationGenerator;
 
     /**
      * Starts the javaFX and displays it to the user.
@@ -48,12 +74,41 @@ public class Applications extends Application {
      * Shows main UI controller using the fxml loader.
      *
      * @throws IOException exception.
+     * @throws JMException if the profiler's JMX beans cannot be registered.
+     * @throws IllegalStateException if inputs are to be logged on top of a snapshot.
      */
-    public void ShowUI() throws IOException {
+    public void ShowUI() throws IOException, JMException {
+        String snapshot = System.getProperty(SNAPSHOT_PROPERTY);
+        boolean snapshotExists = snapshot != null && Files.exists(Path.of(snapshot));
+        if (snapshotExists && System.getProperty(INPUTS_PROPERTY) != null) {
+            throw new IllegalStateException("Cannot log inputs on top of the snapshot " + snapshot
+                    + ", replays start from an empty board");
+        }
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/GameUI.fxml"));
         Parent root = loader.load();
         controller = loader.getController();
         controller.setApp(this);
+        BoardRenderer renderer = RenderMode.fromSystemProperty().createRenderer(controller.simulationBoard);
+        world.addObserver(renderer);
+        simulationLoop = new SimulationLoop(world, renderer);
+        TickProfiler profiler = world.getProfiler();
+        if (profiler == null) {
+            simulationLoop.setStepRateListener(controller::showStepRate);
+        } else {
+            profiler.registerMBeans();
+            simulationLoop.setStepRateListener(stepRate -> {
+                controller.showStepRate(stepRate);
+                controller.showProfile(profiler.summary());//refreshed along with the step rate, once a second
+            });
+        }
+        String recording = System.getProperty(RECORD_PROPERTY);
+        if (recording != null) {
+            recorder = new TrajectoryRecorder(Path.of(recording), TrajectoryRecorder.DEFAULT_FRAMES_PER_CHUNK);
+            world.addObserver(recorder);
+        }
+        //the world bounds follow the board size
+        controller.simulationBoard.widthProperty().addListener((_, _, _) -> updateWorldBounds());
+        controller.simulationBoard.heightProperty().addListener((_, _, _) -> updateWorldBounds());
         primaryStage.setScene(new Scene(root));
         primaryStage.setMinWidth(STAGE_WIDTH);
         primaryStage.setMinHeight(STAGE_HEIGHT);
@@ -62,79 +117,93 @@ public class Applications extends Application {
         primaryStage.setX(STAGE_POSITION);
         primaryStage.setY(STAGE_POSITION);
         primaryStage.show();
+        if (snapshotExists) {
+            loadSnapshot(Path.of(snapshot));
+        }
+        if (System.getProperty(INPUTS_PROPERTY) != null) {
+            inputLog = new InputLog(world);
+        }
+        populationGenerator = new PopulationGenerator(world, new Random(world.getSeed()), inputLog);
+        updateWorldBounds();
+        populate("fish", Integer.getInteger(POPULATION_PROPERTY, 0), null);
+        simulationLoop.start();
     }
 
     /**
-     * Spawns a newly created creature onto the board and begins its movement.
+     * Finishes the recording and saves the board to the snapshot file, if they were asked for, when the program closes.
      *
-     * @param type creature type.
-     * @param x position.
-     * @param y position.
-     * @param colour fish colour.
+     * @throws IOException exception.
      */
-    public void spawnEntity(String type, double x, double y, Colour colour) {
-        SeaCreature creature = SeaCreature.create(type, x, y, controller.simulationBoard, fishes, sharks);
-        creature.setApp(this);
-        if (type.equalsIgnoreCase("fish")) {
-            fishes.add((Fish) creature);
-        } else if (type.equalsIgnoreCase("shark")) {
-            sharks.add((Shark) creature);
+    @Override
+    public void stop() throws IOException {
+        if (recorder != null) {
+            world.removeObserver(recorder);
+            recorder.close();
+        }
+        if (inputLog != null) {
+            inputLog.save(Path.of(System.getProperty(INPUTS_PROPERTY)));
+        }
+        String snapshot = System.getProperty(SNAPSHOT_PROPERTY);
+        if (snapshot != null) {
+            saveSnapshot(Path.of(snapshot));
         }
-        controller.addCreatureToBoard(creature, colour);
-        creature.startMoving();
     }
 
     /**
-     * Function for basic movement behaviours for all entities.
+     * Saves every creature on the board to a snapshot file.
      *
-     * @param creature creature entity.
+     * @param path file to write.
+     * @throws IOException exception.
      */
-    public void moveEntities(SeaCreature creature) {
-        Vector steerForce = creature.checkBoundaries();
-        if (steerForce != null) {
-            physicsHandler.applyForce(creature, steerForce);
-        } else {
-            if (creature instanceof Fish) {
-                moveFishEntity((Fish) creature);
-            } else if (creature instanceof Shark) {
-                moveSharkEntity((Shark) creature);
-            }
-        }
-        physicsHandler.physicsUpdate(creature, creature.MAX_SPEED);
-        creature.showEntityViewUpdate();
+    public void saveSnapshot(Path path) throws IOException {
+        WorldSnapshot.save(world, path);
     }
 
     /**
-     * Fish specific movement behaviours.
+     * Replaces every creature on the board with the ones in a snapshot file.
      *
-     * @param currentFish fish entity.
+     * @param path file to read.
+     * @throws IOException exception.
      */
-    public void moveFishEntity(Fish currentFish) {
-        Shark closebyShark = currentFish.getClosebyShark();
-        if (closebyShark != null) {
-            currentFish.evade(closebyShark);
-        } else {
-            currentFish.wander();
-            currentFish.flockingBehaviour();
+    public void loadSnapshot(Path path) throws IOException {
+        WorldSnapshot.load(world, path);
+    }
+
+    /**
+     * Spawns a newly created creature onto the board and begins its movement.
+     *
+     * @param type creature type.
+     * @param x position.
+     * @param y position.
+     * @param colour fish colour.
+     */
+    public void spawnEntity(String type, double x, double y, Colour colour) {
+        int colourOrdinal = colour == null ? CreatureStore.NO_COLOUR : colour.ordinal();
+        if (inputLog != null) {
+            inputLog.spawn(world.getTick(), type, x, y, colourOrdinal);
         }
+        world.spawn(type, x, y, colourOrdinal);
     }
 
     /**
-     * Shark specific movement behaviours.
+     * Spawns a batch of creatures spread evenly over the board, away from those already on it.
+     * Each one is logged as its own spawn, so a replay spawns them without sampling again.
      *
-     * @param currentShark shark entity.
+     * @param type creature type.
+     * @param count number of creatures wanted, fewer are spawned if the board is too full.
+     * @param colour fish colour, or null for fish of every colour in equal numbers.
      */
-    public void moveSharkEntity(Shark currentShark) {
-        if (fishes.isEmpty()) {
-            currentShark.wander();
+    public void populate(String type, int count, Colour colour) {
+        if (count <= 0) {
+            return;
+        }
+        double[] colourWeights = new double[Colour.values().length];
+        if (colour == null) {
+            Arrays.fill(colourWeights, 1);
         } else {
-            Fish target = currentShark.getTarget();
-            currentShark.pursue(target);
-            currentShark.eatFish(target);
+            colourWeights[colour.ordinal()] = 1;
         }
-        Vector separationForce = currentShark.calculateSeparationForce(sharks);
-        separationForce.multiply(1.2);
-        physicsHandler.applyForce(currentShark, separationForce);
+        populationGenerator.spawn(type, count, colourWeights, 0, 0, world.getWidth(), world.getHeight());
     }
 
     /**
@@ -145,32 +214,45 @@ public class Applications extends Application {
      * @return if at a suitable distance.
      */
     public boolean checkEntityDistances(double x, double y) {
-        Vector spawnPos = new Vector(x, y);
-        for (SeaCreature creature : getAllEntities().toList()) {
-            double minDistance = (creature instanceof Fish) ? 30 : 50;//fish and shark separation distances
-            double currentDistance = spawnPos.copy().subtract(creature.getPosition()).getMagnitude();
-            if (currentDistance < minDistance) {
-                return false;
-            }
-        }
-        return true;
+        return world.checkEntityDistances(x, y);
     }
 
     /**
-     * Stops all timeline movements and clears fish and shark lists.
+     * Stops all creature movements and clears the world.
      */
     public void clearAll() {
-        getAllEntities().forEach(SeaCreature::stopMoving);
-        fishes.clear();
-        sharks.clear();
+        if (inputLog != null) {
+            inputLog.clear(world.getTick());
+        }
+        world.clear();
+    }
+
+    /**
+     * Sets how much faster than real time the simulation runs.
+     *
+     * @param timeWarp time warp.
+     */
+    public void setTimeWarp(TimeWarp timeWarp) {
+        simulationLoop.setTimeWarp(timeWarp);
     }
 
     /**
-     * Gets a stream of all creatures.
+     * Gets the simulation world.
      *
-     * @return creature stream.
+     * @return simulation world.
      */
-    private Stream<SeaCreature> getAllEntities() {
-        return Stream.concat(fishes.stream(), sharks.stream());
+    public SimulationWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Copies the board size into the world bounds.
+     */
+    private void updateWorldBounds() {
+        double width = controller.simulationBoard.getWidth(), height = controller.simulationBoard.getHeight();
+        if (inputLog != null) {
+            inputLog.bounds(world.getTick(), width, height);
+        }
+        world.setBounds(width, height);
     }
 }
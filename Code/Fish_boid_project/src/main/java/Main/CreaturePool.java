@@ -0,0 +1,70 @@
+/**
+ * CreaturePool.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import java.util.ArrayDeque;
+
+/**
+ * This is a creature pool class, keeping fish and sharks that have left the world so they can be spawned again.
+ * ============
+ * A creature only goes back into the pool once the world has taken it out of the store and the moving list,
+ * so nothing in the world still refers to it.
+ * Spawning takes from the pool first and only creates a new creature when the pool is empty.
+ * The pool only holds creatures, the world creates and places them, so it needs nothing from the world.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public class CreaturePool {
+    private final ArrayDeque<Fish> fishes = new ArrayDeque<>();
+    private final ArrayDeque<Shark> sharks = new ArrayDeque<>();
+
+    /**
+     * Takes a creature of the given type out of the pool.
+     *
+     * @param type creature type.
+     * @return pooled fish or shark object, null when there are none of that type.
+     */
+    SeaCreature poll(String type) {
+        return switch (type) {
+            case "fish" -> fishes.pollLast();
+            case "shark" -> sharks.pollLast();
+            default -> throw new IllegalStateException("Unexpected value: " + type);
+        };
+    }
+
+    /**
+     * Puts a creature that has left the world back into the pool.
+     *
+     * @param creature creature to reuse later.
+     */
+    void release(SeaCreature creature) {
+        if (creature instanceof Fish fish) {
+            fishes.addLast(fish);
+        } else if (creature instanceof Shark shark) {
+            sharks.addLast(shark);
+        }
+    }
+
+    /**
+     * Gets the number of fish waiting to be reused.
+     *
+     * @return pooled fish count.
+     */
+    public int getFishCount() {
+        return fishes.size();
+    }
+
+    /**
+     * Gets the number of sharks waiting to be reused.
+     *
+     * @return pooled shark count.
+     */
+    public int getSharkCount() {
+        return sharks.size();
+    }
+}
@@ -0,0 +1,394 @@
+/**
+ * CreatureStore.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import java.util.Arrays;
+
+/**
+ * This is a creature store class, holding the movement state of every creature in parallel arrays.
+ * Each creature is one index into the arrays and fish and shark objects are just handles that know their index.
+ * ============
+ * Keeping positions, velocities and accelerations side by side in plain arrays means looping over creatures reads
+ * memory in order rather than jumping between vector objects.
+ * Removing a creature moves the last creature into its slot, so removal never shifts the arrays.
+ * Positions and velocities also have back buffers, so a parallel tick can write the next state while still reading
+ * the current one and then swap them.
+ * A double precision store keeps its state in the double arrays and a float precision store in the float arrays,
+ * the other set is left empty, so a float store takes half the memory per creature.
+ * Code that does not care which it is reads and writes through the getters and setters.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public class CreatureStore {
+    public static final int FISH = 0;
+    public static final int SHARK = 1;
+    public static final int NO_COLOUR = -1;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final double[] NO_DOUBLES = new double[0];
+    private static final float[] NO_FLOATS = new float[0];
+    private final Precision precision;
+    final boolean floats;//if the state is in the float arrays rather than the double arrays
+    //movement state in double precision, index i of every array belongs to the same creature
+    double[] x, y, vx, vy, ax, ay, maxSpeed;
+    //next positions and velocities written by a double buffered update, only meaningful until swapBuffers
+    double[] nextX, nextY, nextVx, nextVy;
+    //the same state in float precision
+    float[] floatX, floatY, floatVx, floatVy, floatAx, floatAy, floatMaxSpeed;
+    float[] nextFloatX, nextFloatY, nextFloatVx, nextFloatVy;
+    int[] colour = new int[INITIAL_CAPACITY];
+    int[] species = new int[INITIAL_CAPACITY];
+    SeaCreature[] creatures = new SeaCreature[INITIAL_CAPACITY];
+    int size;
+
+    /**
+     * Constructor for a creature store object in double precision.
+     */
+    public CreatureStore() {
+        this(Precision.DOUBLE);
+    }
+
+    /**
+     * Constructor for a creature store object.
+     *
+     * @param precision how precisely positions, velocities and accelerations are kept.
+     */
+    public CreatureStore(Precision precision) {
+        this.precision = precision;
+        this.floats = precision == Precision.FLOAT;
+        int doubles = floats ? 0 : INITIAL_CAPACITY;
+        x = newDoubles(doubles);
+        y = newDoubles(doubles);
+        vx = newDoubles(doubles);
+        vy = newDoubles(doubles);
+        ax = newDoubles(doubles);
+        ay = newDoubles(doubles);
+        maxSpeed = newDoubles(doubles);
+        nextX = newDoubles(doubles);
+        nextY = newDoubles(doubles);
+        nextVx = newDoubles(doubles);
+        nextVy = newDoubles(doubles);
+        int floatCount = floats ? INITIAL_CAPACITY : 0;
+        floatX = newFloats(floatCount);
+        floatY = newFloats(floatCount);
+        floatVx = newFloats(floatCount);
+        floatVy = newFloats(floatCount);
+        floatAx = newFloats(floatCount);
+        floatAy = newFloats(floatCount);
+        floatMaxSpeed = newFloats(floatCount);
+        nextFloatX = newFloats(floatCount);
+        nextFloatY = newFloats(floatCount);
+        nextFloatVx = newFloats(floatCount);
+        nextFloatVy = newFloats(floatCount);
+    }
+
+    /**
+     * Adds a creature at rest at the given position and points its handle at the new slot.
+     *
+     * @param creature creature handle.
+     * @param species fish or shark.
+     * @param colour colour ordinal, or no colour.
+     * @param xPos x position.
+     * @param yPos y position.
+     * @param creatureMaxSpeed fastest the creature can move.
+     * @return index of the creature.
+     */
+    public int add(SeaCreature creature, int species, int colour, double xPos, double yPos, double creatureMaxSpeed) {
+        if (size == this.colour.length) {
+            grow();
+        }
+        int index = size++;
+        if (floats) {
+            floatX[index] = (float) xPos;
+            floatY[index] = (float) yPos;
+            floatVx[index] = 0;//empty initial velocity
+            floatVy[index] = 0;
+            floatAx[index] = 0;//empty initial acceleration
+            floatAy[index] = 0;
+            floatMaxSpeed[index] = (float) creatureMaxSpeed;
+        } else {
+            x[index] = xPos;
+            y[index] = yPos;
+            vx[index] = 0;//empty initial velocity
+            vy[index] = 0;
+            ax[index] = 0;//empty initial acceleration
+            ay[index] = 0;
+            maxSpeed[index] = creatureMaxSpeed;
+        }
+        this.colour[index] = colour;
+        this.species[index] = species;
+        creatures[index] = creature;
+        creature.index = index;
+        return index;
+    }
+
+    /**
+     * Removes a creature by moving the last creature into its slot.
+     *
+     * @param creature creature handle.
+     */
+    public void remove(SeaCreature creature) {
+        int index = creature.index;
+        if (index < 0 || index >= size || creatures[index] != creature) {
+            return;//not in this store
+        }
+        int last = --size;
+        if (index != last) {
+            if (floats) {
+                floatX[index] = floatX[last];
+                floatY[index] = floatY[last];
+                floatVx[index] = floatVx[last];
+                floatVy[index] = floatVy[last];
+                floatAx[index] = floatAx[last];
+                floatAy[index] = floatAy[last];
+                floatMaxSpeed[index] = floatMaxSpeed[last];
+            } else {
+                x[index] = x[last];
+                y[index] = y[last];
+                vx[index] = vx[last];
+                vy[index] = vy[last];
+                ax[index] = ax[last];
+                ay[index] = ay[last];
+                maxSpeed[index] = maxSpeed[last];
+            }
+            colour[index] = colour[last];
+            species[index] = species[last];
+            creatures[index] = creatures[last];
+            creatures[index].index = index;
+        }
+        creatures[last] = null;
+        creature.index = -1;
+    }
+
+    /**
+     * Makes the back buffer positions and velocities the current ones.
+     * The old current arrays become the back buffer for the next update.
+     */
+    public void swapBuffers() {
+        if (floats) {
+            float[] swap = floatX;
+            floatX = nextFloatX;
+            nextFloatX = swap;
+            swap = floatY;
+            floatY = nextFloatY;
+            nextFloatY = swap;
+            swap = floatVx;
+            floatVx = nextFloatVx;
+            nextFloatVx = swap;
+            swap = floatVy;
+            floatVy = nextFloatVy;
+            nextFloatVy = swap;
+        } else {
+            double[] swap = x;
+            x = nextX;
+            nextX = swap;
+            swap = y;
+            y = nextY;
+            nextY = swap;
+            swap = vx;
+            vx = nextVx;
+            nextVx = swap;
+            swap = vy;
+            vy = nextVy;
+            nextVy = swap;
+        }
+    }
+
+    /**
+     * Gets how precisely the store keeps positions, velocities and accelerations.
+     *
+     * @return precision.
+     */
+    public Precision getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Gets the number of creatures in the store.
+     *
+     * @return creature count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the creature handle at the given index.
+     *
+     * @param index creature index.
+     * @return creature.
+     */
+    public SeaCreature get(int index) {
+        return creatures[index];
+    }
+
+    /**
+     * Gets the x position of a creature.
+     *
+     * @param index creature index.
+     * @return x position.
+     */
+    public double getX(int index) {
+        return floats ? floatX[index] : x[index];
+    }
+
+    /**
+     * Gets the y position of a creature.
+     *
+     * @param index creature index.
+     * @return y position.
+     */
+    public double getY(int index) {
+        return floats ? floatY[index] : y[index];
+    }
+
+    /**
+     * Gets the x velocity of a creature.
+     *
+     * @param index creature index.
+     * @return x velocity.
+     */
+    public double getVelocityX(int index) {
+        return floats ? floatVx[index] : vx[index];
+    }
+
+    /**
+     * Gets the y velocity of a creature.
+     *
+     * @param index creature index.
+     * @return y velocity.
+     */
+    public double getVelocityY(int index) {
+        return floats ? floatVy[index] : vy[index];
+    }
+
+    /**
+     * Gets the x acceleration built up by a creature this tick.
+     *
+     * @param index creature index.
+     * @return x acceleration.
+     */
+    public double getAccelerationX(int index) {
+        return floats ? floatAx[index] : ax[index];
+    }
+
+    /**
+     * Gets the y acceleration built up by a creature this tick.
+     *
+     * @param index creature index.
+     * @return y acceleration.
+     */
+    public double getAccelerationY(int index) {
+        return floats ? floatAy[index] : ay[index];
+    }
+
+    /**
+     * Sets the velocity of a creature, rounded to the store's precision.
+     *
+     * @param index creature index.
+     * @param velocityX x velocity.
+     * @param velocityY y velocity.
+     */
+    public void setVelocity(int index, double velocityX, double velocityY) {
+        if (floats) {
+            floatVx[index] = (float) velocityX;
+            floatVy[index] = (float) velocityY;
+        } else {
+            vx[index] = velocityX;
+            vy[index] = velocityY;
+        }
+    }
+
+    /**
+     * Sets the acceleration of a creature, rounded to the store's precision.
+     *
+     * @param index creature index.
+     * @param accelerationX x acceleration.
+     * @param accelerationY y acceleration.
+     */
+    public void setAcceleration(int index, double accelerationX, double accelerationY) {
+        if (floats) {
+            floatAx[index] = (float) accelerationX;
+            floatAy[index] = (float) accelerationY;
+        } else {
+            ax[index] = accelerationX;
+            ay[index] = accelerationY;
+        }
+    }
+
+    /**
+     * Adds a force to the acceleration of a creature, in the store's precision.
+     *
+     * @param index creature index.
+     * @param forceX x force.
+     * @param forceY y force.
+     */
+    public void addAcceleration(int index, double forceX, double forceY) {
+        if (floats) {
+            floatAx[index] += (float) forceX;
+            floatAy[index] += (float) forceY;
+        } else {
+            ax[index] += forceX;
+            ay[index] += forceY;
+        }
+    }
+
+    /**
+     * Doubles the capacity of every array in use.
+     */
+    private void grow() {
+        int capacity = colour.length * 2;
+        if (floats) {
+            floatX = Arrays.copyOf(floatX, capacity);
+            floatY = Arrays.copyOf(floatY, capacity);
+            floatVx = Arrays.copyOf(floatVx, capacity);
+            floatVy = Arrays.copyOf(floatVy, capacity);
+            floatAx = Arrays.copyOf(floatAx, capacity);
+            floatAy = Arrays.copyOf(floatAy, capacity);
+            floatMaxSpeed = Arrays.copyOf(floatMaxSpeed, capacity);
+            nextFloatX = new float[capacity];
+            nextFloatY = new float[capacity];
+            nextFloatVx = new float[capacity];
+            nextFloatVy = new float[capacity];
+        } else {
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            vx = Arrays.copyOf(vx, capacity);
+            vy = Arrays.copyOf(vy, capacity);
+            ax = Arrays.copyOf(ax, capacity);
+            ay = Arrays.copyOf(ay, capacity);
+            maxSpeed = Arrays.copyOf(maxSpeed, capacity);
+            nextX = new double[capacity];
+            nextY = new double[capacity];
+            nextVx = new double[capacity];
+            nextVy = new double[capacity];
+        }
+        colour = Arrays.copyOf(colour, capacity);
+        species = Arrays.copyOf(species, capacity);
+        creatures = Arrays.copyOf(creatures, capacity);
+    }
+
+    /**
+     * Makes a double array, sharing one empty array for the set a store does not use.
+     *
+     * @param length array length.
+     * @return new array.
+     */
+    private static double[] newDoubles(int length) {
+        return length == 0 ? NO_DOUBLES : new double[length];
+    }
+
+    /**
+     * Makes a float array, sharing one empty array for the set a store does not use.
+     *
+     * @param length array length.
+     * @return new array.
+     */
+    private static float[] newFloats(int length) {
+        return length == 0 ? NO_FLOATS : new float[length];
+    }
+}
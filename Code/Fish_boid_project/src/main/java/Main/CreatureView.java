@@ -0,0 +1,31 @@
+/**
+ * CreatureView.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+/**
+ * This is a creature view interface, whatever shows a creature on screen.
+ * Lets a creature update its view without the model depending on javaFX.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public interface CreatureView {
+    /**
+     * Sets the view position to given coordinates.
+     *
+     * @param x cord for new position.
+     * @param y cord for new position.
+     */
+    void setPosition(double x, double y);
+
+    /**
+     * Sets rotation of the view to given angle.
+     *
+     * @param angle of rotation.
+     */
+    void setRotation(double angle);
+}
@@ -0,0 +1,53 @@
+/**
+ * DistanceQuery.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+/**
+ * This is a distance query class, the radius tests every neighbour check goes through.
+ * ============
+ * Pairs are compared as squared distances so no square root is ever taken just to find a pair is out of range.
+ * Steering only needs a real distance for the few pairs that pass, and separation weights by the squared distance
+ * so it does not need one at all.
+ * There is no bounding box test first: the spatial grid only hands over pairs from the cells around the radius,
+ * so the box is a hard to predict branch on most pairs and costs more than the multiply it saves,
+ * as DistanceQueryBenchmark shows.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public final class DistanceQuery {
+    /**
+     * Not to be constructed, only static queries.
+     */
+    private DistanceQuery() {
+    }
+
+    /**
+     * Gets the squared distance of a pair if they are closer than the radius.
+     *
+     * @param diffX difference in x positions.
+     * @param diffY difference in y positions.
+     * @param radius distance the pair must be closer than.
+     * @return squared distance, or -1 if the pair is not in range.
+     */
+    public static double distanceSqWithin(double diffX, double diffY, double radius) {
+        double distanceSq = diffX * diffX + diffY * diffY;
+        return distanceSq < radius * radius ? distanceSq : -1;
+    }
+
+    /**
+     * Checks if a pair is closer than the radius.
+     *
+     * @param diffX difference in x positions.
+     * @param diffY difference in y positions.
+     * @param radius distance the pair must be closer than.
+     * @return if the pair is in range.
+     */
+    public static boolean isWithin(double diffX, double diffY, double radius) {
+        return distanceSqWithin(diffX, diffY, radius) >= 0;
+    }
+}
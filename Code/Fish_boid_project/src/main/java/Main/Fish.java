@@ -6,8 +6,6 @@
  */
 package Main;
 
-import javafx.scene.layout.Pane;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,34 +15,62 @@ import java.util.List;
  * @version 1.0
  */
 public class Fish extends SeaCreature {
-    private final List<Fish> fishesReference;
+    private static final double DESIRED_SEPARATION = 30;
+    private static final double NEIGHBOR_DISTANCE = 50;
     private final List<Shark> sharksReference;
+    private final SpatialGrid fishGrid;
+    private final SpatialGrid sharkGrid;
+    //scratch sums reused every tick by the flocking pass
+    private final Vector velocitySum = new Vector(0, 0);
+    private final Vector positionSum = new Vector(0, 0);
+    private final Vector noForce = new Vector(0, 0);
+    private int separationCount;
+    private int neighborCount;
+    int neighbourPairs;//fish that steered this one at the last flocking pass, for tick events
 
     /**
-     * Constructor for a fish object.
+     * Constructor for a fish object, placed into the store afterwards by the world.
      *
-     * @param xPos x axis position.
-     * @param yPos y axis position.
-     * @param boardReference board object reference.
-     * @param fishesReference fishes list reference.
-     * @param sharksReference sharks list reference.
+     * @param world world reference.
      */
-    public Fish(double xPos, double yPos, Pane boardReference, ArrayList<Fish> fishesReference, List<Shark> sharksReference) {
-        super(boardReference);
-        this.position = new Vector(xPos, yPos);
-        this.fishesReference = fishesReference;
-        this.sharksReference = sharksReference;
+    public Fish(SimulationWorld world) {
+        super(world);
+        this.sharksReference = world.getSharks();
+        this.fishGrid = world.getFishGrid();
+        this.sharkGrid = world.getSharkGrid();
         this.MAX_SPEED = 2.5;
         this.BORDER_OFFSET = 80;
     }
 
+    /**
+     * Adds the fish to the store at rest at the given position.
+     *
+     * @param xPos x axis position.
+     * @param yPos y axis position.
+     * @param colour colour ordinal.
+     */
+    @Override
+    final void place(double xPos, double yPos, int colour) {
+        reset();
+        store.add(this, CreatureStore.FISH, colour, xPos, yPos, MAX_SPEED);
+    }
+
     /**
      * Fish flocking principles to influence the acceleration to flock with other fish.
+     * Separation, alignment and cohesion are all gathered in one pass over the nearby fish of the same colour,
+     * working out the distance to each neighbour only once.
+     * Other colours only push away, so only the cells within the separation distance are searched for them.
+     * In float precision the same pass runs in float maths over the store's float arrays.
      */
     public void flockingBehaviour() {
-        Vector separationForce = calculateSeparationForce(fishesReference);
-        Vector alignmentForce = calculateAlignmentForce();
-        Vector cohereForce = calculateCohereForce();
+        if (store.floats) {
+            gatherNeighboursFloat();
+        } else {
+            gatherNeighbours();
+        }
+        Vector separationForce = finishSeparationForce(this.separationForce, separationCount);
+        Vector alignmentForce = calculateAlignmentForce(velocitySum, neighborCount);
+        Vector cohereForce = calculateCohereForce(positionSum, neighborCount);
         //Scale forces
         separationForce.multiply(1.2);
         alignmentForce.multiply(0.8);
@@ -55,6 +81,167 @@ public class Fish extends SeaCreature {
         physicsHandler.applyForce(this, cohereForce);
     }
 
+    /**
+     * Sums the separation, velocities and positions of the nearby fish in double maths.
+     */
+    private void gatherNeighbours() {
+        double desiredSeparation = DESIRED_SEPARATION;
+        double neighborDistance = NEIGHBOR_DISTANCE;//also covers the smaller separation distance
+        double desiredSeparationSq = desiredSeparation * desiredSeparation;
+        Vector separationSum = separationForce.set(0, 0);
+        velocitySum.set(0, 0);
+        positionSum.set(0, 0);
+        separationCount = 0;
+        neighborCount = 0;
+        double[] xs = store.x, ys = store.y, vxs = store.vx, vys = store.vy;
+        double thisX = xs[index], thisY = ys[index];
+        int thisColour = store.colour[index];
+
+        int minColumn = fishGrid.cellColumn(thisX - neighborDistance);
+        int maxColumn = fishGrid.cellColumn(thisX + neighborDistance);
+        int minRow = fishGrid.cellRow(thisY - neighborDistance);
+        int maxRow = fishGrid.cellRow(thisY + neighborDistance);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                for (int i = fishGrid.colourStart(column, row, thisColour), end = fishGrid.colourEnd(column, row, thisColour); i < end; i++) {
+                    int other = fishGrid.get(i);
+                    if (other == index) {
+                        continue;
+                    }
+                    double diffX = thisX - xs[other];
+                    double diffY = thisY - ys[other];
+                    double distanceSq = DistanceQuery.distanceSqWithin(diffX, diffY, neighborDistance);
+                    if (distanceSq <= 0) {
+                        continue;//out of range or on top of this fish
+                    }
+                    if (distanceSq < desiredSeparationSq) {//vector pointing away from neighbour weighted by distance
+                        separationSum.add(diffX / distanceSq, diffY / distanceSq);
+                        separationCount++;
+                    }
+                    velocitySum.add(vxs[other], vys[other]);
+                    positionSum.add(xs[other], ys[other]);//add neighbor position
+                    neighborCount++;
+                }
+            }
+        }
+        //the other colours come before and after this colour in each cell
+        int otherColourCount = 0;
+        minColumn = fishGrid.cellColumn(thisX - desiredSeparation);
+        maxColumn = fishGrid.cellColumn(thisX + desiredSeparation);
+        minRow = fishGrid.cellRow(thisY - desiredSeparation);
+        maxRow = fishGrid.cellRow(thisY + desiredSeparation);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                otherColourCount += addOtherColourSeparation(fishGrid.cellStart(column, row),
+                        fishGrid.colourStart(column, row, thisColour), thisX, thisY, desiredSeparation);
+                otherColourCount += addOtherColourSeparation(fishGrid.colourEnd(column, row, thisColour),
+                        fishGrid.cellEnd(column, row), thisX, thisY, desiredSeparation);
+            }
+        }
+        separationCount += otherColourCount;
+        neighbourPairs = neighborCount + otherColourCount;
+    }
+
+    /**
+     * Adds the push away from fish of other colours in a range of the fish grid to the separation sum.
+     *
+     * @param from first grid index.
+     * @param to grid index after the last.
+     * @param thisX this fish's x position.
+     * @param thisY this fish's y position.
+     * @param desiredSeparation distance other fish are pushed away within.
+     * @return number of fish pushed away from.
+     */
+    private int addOtherColourSeparation(int from, int to, double thisX, double thisY, double desiredSeparation) {
+        double[] xs = store.x, ys = store.y;
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int other = fishGrid.get(i);
+            double diffX = thisX - xs[other];
+            double diffY = thisY - ys[other];
+            double distanceSq = DistanceQuery.distanceSqWithin(diffX, diffY, desiredSeparation);
+            if (distanceSq > 0) {//different colours push away extra hard
+                separationForce.add(diffX / distanceSq * 2.0, diffY / distanceSq * 2.0);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sums the separation, velocities and positions of the nearby fish in float maths from a float store.
+     * This fish is skipped by its zero distance.
+     */
+    private void gatherNeighboursFloat() {
+        float desiredSeparationSq = (float) (DESIRED_SEPARATION * DESIRED_SEPARATION);
+        float neighborDistanceSq = (float) (NEIGHBOR_DISTANCE * NEIGHBOR_DISTANCE);
+        float[] xs = store.floatX, ys = store.floatY, vxs = store.floatVx, vys = store.floatVy;
+        float thisX = xs[index], thisY = ys[index];
+        int thisColour = store.colour[index];
+        float separationX = 0, separationY = 0, velocityX = 0, velocityY = 0, positionX = 0, positionY = 0;
+        int separations = 0, neighbors = 0, otherColours = 0;
+
+        int minColumn = fishGrid.cellColumn(thisX - NEIGHBOR_DISTANCE);
+        int maxColumn = fishGrid.cellColumn(thisX + NEIGHBOR_DISTANCE);
+        int minRow = fishGrid.cellRow(thisY - NEIGHBOR_DISTANCE);
+        int maxRow = fishGrid.cellRow(thisY + NEIGHBOR_DISTANCE);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                for (int i = fishGrid.colourStart(column, row, thisColour), end = fishGrid.colourEnd(column, row, thisColour); i < end; i++) {
+                    int other = fishGrid.get(i);
+                    float diffX = thisX - xs[other];
+                    float diffY = thisY - ys[other];
+                    float distanceSq = diffX * diffX + diffY * diffY;
+                    if (distanceSq <= 0 || distanceSq >= neighborDistanceSq) {
+                        continue;//out of range or on top of this fish
+                    }
+                    if (distanceSq < desiredSeparationSq) {
+                        separationX += diffX / distanceSq;
+                        separationY += diffY / distanceSq;
+                        separations++;
+                    }
+                    velocityX += vxs[other];
+                    velocityY += vys[other];
+                    positionX += xs[other];
+                    positionY += ys[other];
+                    neighbors++;
+                }
+            }
+        }
+        minColumn = fishGrid.cellColumn(thisX - DESIRED_SEPARATION);
+        maxColumn = fishGrid.cellColumn(thisX + DESIRED_SEPARATION);
+        minRow = fishGrid.cellRow(thisY - DESIRED_SEPARATION);
+        maxRow = fishGrid.cellRow(thisY + DESIRED_SEPARATION);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                //the other colours come before and after this colour in each cell
+                int colourStart = fishGrid.colourStart(column, row, thisColour);
+                int colourEnd = fishGrid.colourEnd(column, row, thisColour);
+                for (int part = 0; part < 2; part++) {
+                    int from = part == 0 ? fishGrid.cellStart(column, row) : colourEnd;
+                    int to = part == 0 ? colourStart : fishGrid.cellEnd(column, row);
+                    for (int i = from; i < to; i++) {
+                        int other = fishGrid.get(i);
+                        float diffX = thisX - xs[other];
+                        float diffY = thisY - ys[other];
+                        float distanceSq = diffX * diffX + diffY * diffY;
+                        if (distanceSq > 0 && distanceSq < desiredSeparationSq) {//different colours push away extra hard
+                            separationX += diffX / distanceSq * 2.0f;
+                            separationY += diffY / distanceSq * 2.0f;
+                            otherColours++;
+                        }
+                    }
+                }
+            }
+        }
+        separationForce.set(separationX, separationY);
+        velocitySum.set(velocityX, velocityY);
+        positionSum.set(positionX, positionY);
+        separationCount = separations + otherColours;
+        neighborCount = neighbors;
+        neighbourPairs = neighbors + otherColours;
+    }
+
     /**
      * Gets the closest shark within the detection radius.
      *
@@ -64,18 +251,8 @@ public class Fish extends SeaCreature {
         if (sharksReference.isEmpty()) {
             return null;//no sharks to check for
         }
-        double detectionRadius = 150;
-        Shark closestShark = null;
-        double closestDistance = 10000;
-        //searches all sharks within radius for the closest one
-        for (Shark shark : sharksReference) {
-            double distance = getDifference(this.getPosition(), shark.getPosition()).getMagnitude();
-            if (distance < detectionRadius && distance < closestDistance) {
-                closestDistance = distance;
-                closestShark = shark;
-            }
-        }
-        return closestShark;
+        int closest = sharkGrid.nearest(store, getX(), getY(), 150);//detection radius
+        return closest < 0 ? null : (Shark) store.get(closest);
     }
 
     /**
@@ -84,67 +261,44 @@ public class Fish extends SeaCreature {
      * @param shark close shark.
      */
     public void evade(Shark shark) {
-        Vector evadeForce = seek(shark.getPosition()).multiply(-1);
+        neighbourPairs = 0;//no flocking while evading
+        Vector evadeForce = seek(shark.getX(), shark.getY()).multiply(-1);
         physicsHandler.applyForce(this, evadeForce);
     }
 
     /**
      * Calculates steer force for aligning the fish together.
      *
+     * @param sum summed velocity of close by fish of the same colour.
+     * @param count number of close by fish of the same colour.
      * @return steer force.
      */
-    public Vector calculateAlignmentForce() {
-        double neighborDistance = 50;
-        Vector sum = new Vector(0, 0);
-        int count = 0;
-
-        for (Fish otherFish : fishesReference) {
-            if (otherFish != this && otherFish.getEntityView().getColour() == this.entityView.getColour()) {
-                double distance = getDifference(this.getPosition(), otherFish.getPosition()).getMagnitude();
-                if (distance > 0 && distance < neighborDistance) {
-                    sum.add(otherFish.velocity);
-                    count++;
-                }
-            }
-        }
-
+    private Vector calculateAlignmentForce(Vector sum, int count) {
         if (count > 0) {
             sum.divide(count);//average velocity
             sum.normalize();//direction only
             sum.multiply(MAX_SPEED);//scale to fish's max speed
-            Vector steerForce = getDifference(sum, this.velocity);
+            Vector steerForce = sum.subtract(getVelocityX(), getVelocityY());
             steerForce.limitMagnitude(MAX_FORCE);//cap steering force
             return steerForce;
         } else {
-            return new Vector(0, 0);
+            return noForce.set(0, 0);
         }
     }
 
     /**
      * Calculates steer force for cohering the fish movements with close by fish.
      *
+     * @param sum summed position of close by fish of the same colour.
+     * @param count number of close by fish of the same colour.
      * @return steer force.
      */
-    public Vector calculateCohereForce() {
-        double neighborDistance = 50;
-        Vector sum = new Vector(0, 0);
-        int count = 0;
-
-        for (Fish otherFish : fishesReference) {
-            if (otherFish != this && otherFish.getEntityView().getColour() == this.entityView.getColour()) {
-                double distance = getDifference(this.getPosition(), otherFish.getPosition()).getMagnitude();
-                if (distance > 0 && distance < neighborDistance) {
-                    sum.add(otherFish.getPosition());//add neighbor position
-                    count++;
-                }
-            }
-        }
-
+    private Vector calculateCohereForce(Vector sum, int count) {
         if (count > 0) {
             sum.divide(count);//average position
             return seek(sum);//steer toward it
         } else {
-            return new Vector(0, 0);
+            return noForce.set(0, 0);
         }
     }
 }
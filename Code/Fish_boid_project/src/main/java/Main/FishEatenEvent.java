@@ -0,0 +1,44 @@
+/**
+ * FishEatenEvent.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This is a fish eaten event class, a flight recorder event for every fish a shark eats.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+@Name("fishboid.FishEaten")
+@Label("Fish Eaten")
+@Category("Fish Boid")
+@Description("A shark ate a fish")
+@StackTrace(false)
+public class FishEatenEvent extends jdk.jfr.Event {
+    @Label("Tick")
+    long tick;
+
+    @Label("Shark Id")
+    long sharkId;
+
+    @Label("Fish Id")
+    long fishId;
+
+    @Label("Fish Colour")
+    int fishColour;
+
+    @Label("X")
+    double x;
+
+    @Label("Y")
+    double y;
+}
@@ -0,0 +1,22 @@
+/**
+ * FrameRenderer.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+/**
+ * This is a frame renderer interface, whatever draws the world once per frame after the ticks for that frame.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public interface FrameRenderer {
+    /**
+     * Draws the world as it is now.
+     *
+     * @param world world to draw.
+     */
+    void renderFrame(SimulationWorld world);
+}
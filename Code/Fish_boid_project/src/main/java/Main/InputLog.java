@@ -0,0 +1,244 @@
+/**
+ * InputLog.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This is an input log class, recording everything the user did to a world and the tick it happened at.
+ * ============
+ * With the world seed, the inputs are all a replay needs to rebuild a run exactly, as every tick in between
+ * follows from them.
+ * The log also keeps the tick mode, physics mode and precision the world ran in, so a replay runs the same way
+ * whatever the system properties of the program replaying it.
+ * Inputs are recorded between ticks, an input at tick t happened after t ticks and is applied before the next one.
+ * Replays start from an empty board, so the application refuses to log inputs on top of a loaded snapshot.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public class InputLog {
+    private static final int MAGIC = 0x46424950;//"FBIP"
+    private static final int VERSION = 2;
+    static final byte SPAWN = 0, CLEAR = 1, BOUNDS = 2;
+    private final long seed;
+    private final TickMode tickMode;
+    private final PhysicsMode physicsMode;
+    private final Precision precision;
+    private final List<Input> inputs = new ArrayList<>();
+
+    /**
+     * Constructor for an input log object for the inputs to a world.
+     *
+     * @param world world the inputs are for, its seed and modes are kept.
+     */
+    public InputLog(SimulationWorld world) {
+        this(world.getSeed(), world.getTickMode(), world.getPhysicsHandler().getMode(),
+                world.getPrecision());
+    }
+
+    /**
+     * Constructor for an input log object.
+     *
+     * @param seed seed of the world the inputs are for.
+     * @param tickMode how the world worked out each tick.
+     * @param physicsMode how the world's physics update moved the creatures.
+     * @param precision how precisely the world kept positions and velocities.
+     */
+    public InputLog(long seed, TickMode tickMode, PhysicsMode physicsMode, Precision precision) {
+        this.seed = seed;
+        this.tickMode = tickMode;
+        this.physicsMode = physicsMode;
+        this.precision = precision;
+    }
+
+    /**
+     * Records a creature being spawned.
+     *
+     * @param tick ticks completed when it happened.
+     * @param type creature type.
+     * @param x position.
+     * @param y position.
+     * @param colour fish colour ordinal.
+     */
+    public void spawn(long tick, String type, double x, double y, int colour) {
+        int species = type.equals("shark") ? CreatureStore.SHARK : CreatureStore.FISH;
+        inputs.add(new Input(tick, SPAWN, species, x, y, colour));
+    }
+
+    /**
+     * Records the board being cleared.
+     *
+     * @param tick ticks completed when it happened.
+     */
+    public void clear(long tick) {
+        inputs.add(new Input(tick, CLEAR, 0, 0, 0, 0));
+    }
+
+    /**
+     * Records the board changing size.
+     *
+     * @param tick ticks completed when it happened.
+     * @param width board width.
+     * @param height board height.
+     */
+    public void bounds(long tick, double width, double height) {
+        inputs.add(new Input(tick, BOUNDS, 0, width, height, 0));
+    }
+
+    /**
+     * Gets the seed of the world the inputs are for.
+     *
+     * @return world seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets how the world worked out each tick.
+     *
+     * @return tick mode.
+     */
+    public TickMode getTickMode() {
+        return tickMode;
+    }
+
+    /**
+     * Gets how the world's physics update moved the creatures.
+     *
+     * @return physics mode.
+     */
+    public PhysicsMode getPhysicsMode() {
+        return physicsMode;
+    }
+
+    /**
+     * Gets how precisely the world kept positions and velocities.
+     *
+     * @return precision.
+     */
+    public Precision getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Gets every input in the order they happened.
+     *
+     * @return inputs.
+     */
+    List<Input> getInputs() {
+        return Collections.unmodifiableList(inputs);
+    }
+
+    /**
+     * Writes the log to a file.
+     *
+     * @param path file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(seed);
+            out.writeUTF(tickMode.name());
+            out.writeUTF(physicsMode.name());
+            out.writeUTF(precision.name());
+            out.writeInt(inputs.size());
+            for (Input input : inputs) {
+                out.writeLong(input.tick);
+                out.writeByte(input.kind);
+                out.writeByte(input.species);
+                out.writeDouble(input.x);
+                out.writeDouble(input.y);
+                out.writeByte(input.colour);
+            }
+        }
+    }
+
+    /**
+     * Reads a log from a file.
+     *
+     * @param path file to read.
+     * @return input log.
+     * @throws IOException if the file cannot be read or is not an input log.
+     */
+    public static InputLog load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not an input log: " + path);
+            }
+            InputLog log;
+            try {
+                log = new InputLog(in.readLong(), TickMode.valueOf(in.readUTF()), PhysicsMode.valueOf(in.readUTF()),
+                        Precision.valueOf(in.readUTF()));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown mode in input log: " + path, e);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                log.inputs.add(new Input(in.readLong(), in.readByte(), in.readByte(), in.readDouble(), in.readDouble(),
+                        in.readByte()));
+            }
+            return log;
+        }
+    }
+
+    /**
+     * One user input and the tick it happened at.
+     */
+    static final class Input {
+        final long tick;
+        final byte kind;
+        final int species;//fish or shark, for spawns
+        final double x, y;//spawn position, or board width and height
+        final int colour;
+
+        /**
+         * Constructor for an input object.
+         *
+         * @param tick ticks completed when it happened.
+         * @param kind spawn, clear or bounds.
+         * @param species fish or shark.
+         * @param x position or width.
+         * @param y position or height.
+         * @param colour fish colour ordinal.
+         */
+        Input(long tick, byte kind, int species, double x, double y, int colour) {
+            this.tick = tick;
+            this.kind = kind;
+            this.species = species;
+            this.x = x;
+            this.y = y;
+            this.colour = colour;
+        }
+
+        /**
+         * Applies the input to a world.
+         *
+         * @param world world to change.
+         */
+        void apply(SimulationWorld world) {
+            switch (kind) {
+                case SPAWN -> world.spawn(species == CreatureStore.SHARK ? "shark" : "fish", x, y, colour);
+                case CLEAR -> world.clear();
+                case BOUNDS -> world.setBounds(x, y);
+                default -> throw new IllegalStateException("Unexpected value: " + kind);
+            }
+        }
+    }
+}
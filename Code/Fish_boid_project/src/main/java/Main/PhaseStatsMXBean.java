@@ -0,0 +1,44 @@
+/**
+ * PhaseStatsMXBean.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+/**
+ * This is a phase stats interface, the timings of one tick phase as seen through JMX.
+ * Times are in microseconds over the most recent ticks the profiler keeps.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public interface PhaseStatsMXBean {
+    /**
+     * Gets the median time the phase took.
+     *
+     * @return 50th percentile in microseconds.
+     */
+    double getP50Micros();
+
+    /**
+     * Gets the time the phase took in all but the slowest one in a hundred ticks.
+     *
+     * @return 99th percentile in microseconds.
+     */
+    double getP99Micros();
+
+    /**
+     * Gets the longest time the phase took.
+     *
+     * @return maximum in microseconds.
+     */
+    double getMaxMicros();
+
+    /**
+     * Gets how many times the percentiles are taken over.
+     *
+     * @return sample count.
+     */
+    int getSampleCount();
+}
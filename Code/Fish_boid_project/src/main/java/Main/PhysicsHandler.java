@@ -8,11 +8,44 @@ package Main;
 
 /**
  * This is a physics engine class, a blueprint for all physics interactions.
+ * In vector physics mode the update runs several creatures per instruction, falling back to one at a time
+ * when the vector update was not built or the vector API module has not been added.
+ * The update works in the precision of the store it moves, float maths over a float store's arrays and double
+ * maths over a double store's.
  *
  * @author Jacob Broomfield
  * @version 1.0
  */
 public class PhysicsHandler {
+    private final PhysicsMode mode;
+    private final RangeIntegrator integrator;//moves what it can before the scalar update, null in scalar mode
+
+    /**
+     * Constructor for a physics handler object in the mode chosen by the fishboid.physics system property.
+     */
+    public PhysicsHandler() {
+        this(PhysicsMode.fromSystemProperty());
+    }
+
+    /**
+     * Constructor for a physics handler object.
+     *
+     * @param mode how the physics update moves the creatures, scalar if the mode cannot run.
+     */
+    public PhysicsHandler(PhysicsMode mode) {
+        this.mode = mode.isAvailable() ? mode : PhysicsMode.SCALAR;
+        this.integrator = this.mode.createIntegrator();
+    }
+
+    /**
+     * Gets how the physics update moves the creatures.
+     *
+     * @return physics mode actually used.
+     */
+    public PhysicsMode getMode() {
+        return mode;
+    }
+
     /**
      * Changes the acceleration based off of some external force being added.
      * Change could be caused by anything from other fish to boundaries to sharks.
@@ -20,18 +53,112 @@ public class PhysicsHandler {
      * @param force external force
      */
     public void applyForce(SeaCreature creature, Vector force) {
-        creature.getAcceleration().add(force);
+        creature.store.addAcceleration(creature.index, force.x, force.y);
     }
 
     /**
      * The update function which changes the position of the entity based of how far and where velocity makes it go.
      * velocity is changed and set by acceleration (acceleration has been decided based of multiple external forces).
      * Only place where velocity and position are actually changed at the end of a loop although are referenced.
+     * Runs once per tick over every creature in the store after all forces have been applied.
+     *
+     * @param store creature store.
+     */
+    public void physicsUpdate(CreatureStore store) {
+        if (store.floats) {
+            integrate(store, 0, store.size, store.floatX, store.floatY, store.floatVx, store.floatVy);
+        } else {
+            integrate(store, 0, store.size, store.x, store.y, store.vx, store.vy);
+        }
+    }
+
+    /**
+     * The same update as physicsUpdate for a range of creatures, writing into the store's back buffers.
+     * Only reads the current positions and velocities, so ranges can run on different threads at once.
+     * Call swapBuffers on the store once every range is done.
+     *
+     * @param store creature store.
+     * @param from first creature index.
+     * @param to index after the last creature.
+     */
+    public void physicsUpdateInto(CreatureStore store, int from, int to) {
+        if (store.floats) {
+            integrate(store, from, to, store.nextFloatX, store.nextFloatY, store.nextFloatVx, store.nextFloatVy);
+        } else {
+            integrate(store, from, to, store.nextX, store.nextY, store.nextVx, store.nextVy);
+        }
+    }
+
+    /**
+     * Adds acceleration to velocity and velocity to position for a range of creatures in a double store.
+     *
+     * @param store creature store to read from.
+     * @param from first creature index.
+     * @param to index after the last creature.
+     * @param x x positions to write to.
+     * @param y y positions to write to.
+     * @param vx x velocities to write to.
+     * @param vy y velocities to write to.
+     */
+    private void integrate(CreatureStore store, int from, int to, double[] x, double[] y, double[] vx, double[] vy) {
+        if (integrator != null) {
+            from = integrator.integrate(store, from, to, x, y, vx, vy);//whatever is left over is done below
+        }
+        double[] currentX = store.x, currentY = store.y, currentVx = store.vx, currentVy = store.vy;
+        double[] ax = store.ax, ay = store.ay, maxSpeed = store.maxSpeed;
+        for (int i = from; i < to; i++) {
+            //Velocity changes based of acceleration(speed changes by external force)
+            double velocityX = currentVx[i] + ax[i];
+            double velocityY = currentVy[i] + ay[i];
+            //velocity limited to max speed
+            double speed = Math.sqrt(velocityX * velocityX + velocityY * velocityY);
+            if (speed > maxSpeed[i]) {
+                velocityX = velocityX / speed * maxSpeed[i];
+                velocityY = velocityY / speed * maxSpeed[i];
+            }
+            vx[i] = velocityX;
+            vy[i] = velocityY;
+            //position updated based of current velocity (how far in what direction)
+            x[i] = currentX[i] + velocityX;
+            y[i] = currentY[i] + velocityY;
+            //acceleration set back to 0
+            ax[i] = 0;
+            ay[i] = 0;
+        }
+    }
+
+    /**
+     * Adds acceleration to velocity and velocity to position for a range of creatures in a float store.
+     * The square root is worked out in doubles and rounded, which is exactly the float square root.
+     *
+     * @param store creature store to read from.
+     * @param from first creature index.
+     * @param to index after the last creature.
+     * @param x x positions to write to.
+     * @param y y positions to write to.
+     * @param vx x velocities to write to.
+     * @param vy y velocities to write to.
      */
-    public void physicsUpdate(SeaCreature creature, double MAX_SPEED) {
-        creature.getVelocity().add(creature.getAcceleration());//Velocity changes based of acceleration(speed changes by external force)
-        creature.getVelocity().limitMagnitude(MAX_SPEED);//velocity limited to max speed
-        creature.getPosition().add(creature.getVelocity());//position updated based of current velocity (how far in what direction)
-        creature.getAcceleration().multiply(0);//acceleration set back to 0
+    private void integrate(CreatureStore store, int from, int to, float[] x, float[] y, float[] vx, float[] vy) {
+        if (integrator != null) {
+            from = integrator.integrate(store, from, to, x, y, vx, vy);//whatever is left over is done below
+        }
+        float[] currentX = store.floatX, currentY = store.floatY, currentVx = store.floatVx, currentVy = store.floatVy;
+        float[] ax = store.floatAx, ay = store.floatAy, maxSpeed = store.floatMaxSpeed;
+        for (int i = from; i < to; i++) {
+            float velocityX = currentVx[i] + ax[i];
+            float velocityY = currentVy[i] + ay[i];
+            float speed = (float) Math.sqrt(velocityX * velocityX + velocityY * velocityY);
+            if (speed > maxSpeed[i]) {
+                velocityX = velocityX / speed * maxSpeed[i];
+                velocityY = velocityY / speed * maxSpeed[i];
+            }
+            vx[i] = velocityX;
+            vy[i] = velocityY;
+            x[i] = currentX[i] + velocityX;
+            y[i] = currentY[i] + velocityY;
+            ax[i] = 0;
+            ay[i] = 0;
+        }
     }
 }
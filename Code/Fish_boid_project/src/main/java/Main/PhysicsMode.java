@@ -0,0 +1,72 @@
+/**
+ * PhysicsMode.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import java.util.Locale;
+
+/**
+ * This is a physics mode class, an enum of the ways the physics update can move the creatures.
+ * Chosen at startup with the fishboid.physics system property, for example -Dfishboid.physics=vector.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public enum PhysicsMode {
+    //one creature at a time.
+    SCALAR,
+    //several creatures per instruction with the incubating vector API, built with -Pvector and run with
+    //--add-modules jdk.incubator.vector.
+    VECTOR;
+
+    private static final String VECTOR_INTEGRATOR = "Main.VectorIntegrator";//only there in a vector profile build
+
+    /**
+     * Gets the physics mode chosen by the fishboid.physics system property, scalar when not set.
+     *
+     * @return physics mode.
+     */
+    public static PhysicsMode fromSystemProperty() {
+        return valueOf(System.getProperty("fishboid.physics", SCALAR.name()).toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Checks if this mode can run, the vector mode needs the vector update to have been built
+     * and the vector API module to have been added.
+     *
+     * @return if the mode can run.
+     */
+    public boolean isAvailable() {
+        if (this != VECTOR) {
+            return true;
+        }
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            Class.forName(VECTOR_INTEGRATOR, false, PhysicsMode.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates the update that moves creatures ahead of the scalar update in this mode.
+     *
+     * @return range integrator, null when the scalar update does everything.
+     */
+    RangeIntegrator createIntegrator() {
+        if (this != VECTOR) {
+            return null;
+        }
+        try {
+            return (RangeIntegrator) Class.forName(VECTOR_INTEGRATOR).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Vector physics is not available", e);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+/**
+ * PopulationGenerator.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import jdk.jfr.EventType;
+
+/**
+ * This is a population generator class, spawning many creatures at once spread evenly over a region.
+ * ============
+ * Positions are Poisson disc sampled, and a background grid with at most one point per cell means checking the
+ * spacing only looks at nearby cells.
+ * Points are first thrown anywhere in the region while they keep landing, so a small batch is spread over all of it.
+ * Once they stop landing the gaps are filled with Bridson's method, each new point tried in a ring around an existing
+ * one, so a batch that nearly fills the region still finds room.
+ * Sampling stops as soon as there are enough points, so the cost follows the batch size rather than the region size.
+ * Creatures already in the world are checked through fish and shark grids with the same spacing as a single spawn.
+ * Each spawn is written to the input log, if there is one, so a replay spawns the same creatures without sampling.
+ * Each batch is recorded as a spawn batch event when the flight recorder is running.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public class PopulationGenerator {
+    private static final int CANDIDATES_PER_POINT = 30;//tries around a point before it is given up on
+    private static final EventType BATCH_EVENT_TYPE = EventType.getEventType(SpawnBatchEvent.class);
+    private final SimulationWorld world;
+    private final Random random;
+    private final InputLog inputLog;//null when inputs are not being logged
+    private final SpatialGrid fishGrid = new SpatialGrid(SimulationWorld.SHARK_SPACING);
+    private final SpatialGrid sharkGrid = new SpatialGrid(SimulationWorld.SHARK_SPACING);
+    //sampled points and the points new ones are still being tried around
+    private double[] pointX = new double[64];
+    private double[] pointY = new double[64];
+    private int[] active = new int[64];
+    private int pointCount;
+    private int activeCount;
+    //background grid, point index in each cell or -1
+    private int[] cells = new int[0];
+    private int columns;
+    private int rows;
+    private double cellSize;
+
+    /**
+     * Constructor for a population generator object.
+     *
+     * @param world world to spawn into.
+     * @param random random numbers for the positions and colours.
+     */
+    public PopulationGenerator(SimulationWorld world, Random random) {
+        this(world, random, null);
+    }
+
+    /**
+     * Constructor for a population generator object that logs what it spawns.
+     *
+     * @param world world to spawn into.
+     * @param random random numbers for the positions and colours.
+     * @param inputLog log to record each spawn in, or null.
+     */
+    public PopulationGenerator(SimulationWorld world, Random random, InputLog inputLog) {
+        this.world = world;
+        this.random = random;
+        this.inputLog = inputLog;
+    }
+
+    /**
+     * Spawns up to the given number of creatures in a region, keeping them apart by the spawn spacing.
+     * Fewer are spawned if the region cannot fit them all.
+     *
+     * @param type creature type.
+     * @param count number of creatures wanted.
+     * @param colourWeights relative chance of each colour ordinal for fish, ignored for sharks.
+     * @param x left of the region.
+     * @param y top of the region.
+     * @param width region width.
+     * @param height region height.
+     * @return spawned creatures.
+     * @throws IllegalArgumentException if fish are spawned without a usable colour weight.
+     */
+    public List<SeaCreature> spawn(String type, int count, double[] colourWeights, double x, double y,
+                                   double width, double height) {
+        boolean isFish = type.equals("fish");
+        if (isFish) {
+            checkColourWeights(colourWeights);
+        }
+        SpawnBatchEvent event = null;//only made while a recording wants it
+        if (BATCH_EVENT_TYPE.isEnabled()) {
+            event = new SpawnBatchEvent();
+            event.begin();
+        }
+        double spacing = isFish ? SimulationWorld.FISH_SPACING : SimulationWorld.SHARK_SPACING;
+        CreatureStore store = world.getStore();
+        double gridWidth = Math.max(world.getWidth(), x + width), gridHeight = Math.max(world.getHeight(), y + height);
+        fishGrid.rebuild(store, CreatureStore.FISH, gridWidth, gridHeight);
+        sharkGrid.rebuild(store, CreatureStore.SHARK, gridWidth, gridHeight);
+        samplePoints(store, spacing, count, x, y, width, height);
+
+        int spawnCount = pointCount;
+        List<SeaCreature> spawned = new ArrayList<>(spawnCount);
+        for (int i = 0; i < spawnCount; i++) {
+            double spawnX = pointX[i], spawnY = pointY[i];
+            int colour = isFish ? pickColour(colourWeights) : CreatureStore.NO_COLOUR;
+            if (inputLog != null) {
+                inputLog.spawn(world.getTick(), type, spawnX, spawnY, colour);
+            }
+            spawned.add(world.spawn(type, spawnX, spawnY, colour));
+        }
+        if (event != null && event.shouldCommit()) {
+            event.tick = world.getTick();
+            event.type = type;
+            event.requested = count;
+            event.spawned = spawnCount;
+            event.width = width;
+            event.height = height;
+            event.commit();
+        }
+        return spawned;
+    }
+
+    /**
+     * Samples up to the given number of points in the region, no closer than the spacing to each other or to the
+     * creatures in the world.
+     *
+     * @param store creature store.
+     * @param spacing closest two new points may be.
+     * @param count number of points wanted.
+     * @param x left of the region.
+     * @param y top of the region.
+     * @param width region width.
+     * @param height region height.
+     */
+    private void samplePoints(CreatureStore store, double spacing, int count, double x, double y, double width,
+                              double height) {
+        cellSize = spacing / Math.sqrt(2);//any two points in one cell would be too close
+        columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        if (cells.length < columns * rows) {
+            cells = new int[columns * rows];
+        }
+        Arrays.fill(cells, 0, columns * rows, -1);
+        pointCount = 0;
+        activeCount = 0;
+        double spacingSq = spacing * spacing;
+        boolean throwing = true;//points still land when thrown anywhere in the region
+        while (pointCount < count) {
+            if (throwing) {
+                throwing = addRandomPoint(store, spacingSq, x, y, width, height);
+            } else if (activeCount > 0) {
+                addAroundPoint(store, spacing, spacingSq, x, y, width, height);
+            } else if (!addRandomPoint(store, spacingSq, x, y, width, height)) {
+                break;//no room left anywhere
+            }
+        }
+    }
+
+    /**
+     * Tries points in a ring around a random point still being tried around, and stops trying around it if none fit.
+     *
+     * @param store creature store.
+     * @param spacing closest two new points may be.
+     * @param spacingSq closest two new points may be, squared.
+     * @param x left of the region.
+     * @param y top of the region.
+     * @param width region width.
+     * @param height region height.
+     */
+    private void addAroundPoint(CreatureStore store, double spacing, double spacingSq, double x, double y,
+                                double width, double height) {
+        int slot = random.nextInt(activeCount);
+        int point = active[slot];
+        for (int attempt = 0; attempt < CANDIDATES_PER_POINT; attempt++) {
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double distance = spacing * (1 + random.nextDouble());//between one and two spacings away
+            double candidateX = pointX[point] + Math.cos(angle) * distance;
+            double candidateY = pointY[point] + Math.sin(angle) * distance;
+            if (tryAdd(store, spacingSq, candidateX, candidateY, x, y, width, height)) {
+                return;
+            }
+        }
+        active[slot] = active[--activeCount];//no room left around this point
+    }
+
+    /**
+     * Tries random points anywhere in the region until one fits.
+     *
+     * @param store creature store.
+     * @param spacingSq closest two new points may be, squared.
+     * @param x left of the region.
+     * @param y top of the region.
+     * @param width region width.
+     * @param height region height.
+     * @return if a point was added.
+     */
+    private boolean addRandomPoint(CreatureStore store, double spacingSq, double x, double y, double width, double height) {
+        for (int attempt = 0; attempt < CANDIDATES_PER_POINT; attempt++) {
+            if (tryAdd(store, spacingSq, x + random.nextDouble() * width, y + random.nextDouble() * height,
+                    x, y, width, height)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a point if it is in the region and far enough from other points and creatures.
+     *
+     * @param store creature store.
+     * @param spacingSq closest two new points may be, squared.
+     * @param candidateX x position to try.
+     * @param candidateY y position to try.
+     * @param x left of the region.
+     * @param y top of the region.
+     * @param width region width.
+     * @param height region height.
+     * @return if the point was added.
+     */
+    private boolean tryAdd(CreatureStore store, double spacingSq, double candidateX, double candidateY,
+                           double x, double y, double width, double height) {
+        if (candidateX < x || candidateY < y || candidateX >= x + width || candidateY >= y + height) {
+            return false;
+        }
+        int column = Math.min(columns - 1, (int) ((candidateX - x) / cellSize));
+        int row = Math.min(rows - 1, (int) ((candidateY - y) / cellSize));
+        //a point within the spacing is at most two cells away
+        for (int otherRow = Math.max(0, row - 2); otherRow <= Math.min(rows - 1, row + 2); otherRow++) {
+            for (int otherColumn = Math.max(0, column - 2); otherColumn <= Math.min(columns - 1, column + 2); otherColumn++) {
+                int other = cells[otherRow * columns + otherColumn];
+                if (other >= 0) {
+                    double diffX = candidateX - pointX[other], diffY = candidateY - pointY[other];
+                    if (diffX * diffX + diffY * diffY < spacingSq) {
+                        return false;
+                    }
+                }
+            }
+        }
+        if (fishGrid.nearest(store, candidateX, candidateY, SimulationWorld.FISH_SPACING) >= 0
+                || sharkGrid.nearest(store, candidateX, candidateY, SimulationWorld.SHARK_SPACING) >= 0) {
+            return false;//too close to a creature already in the world
+        }
+        if (pointCount == pointX.length) {
+            pointX = Arrays.copyOf(pointX, pointCount * 2);
+            pointY = Arrays.copyOf(pointY, pointCount * 2);
+            active = Arrays.copyOf(active, pointCount * 2);
+        }
+        pointX[pointCount] = candidateX;
+        pointY[pointCount] = candidateY;
+        cells[row * columns + column] = pointCount;
+        active[activeCount++] = pointCount++;
+        return true;
+    }
+
+    /**
+     * Checks there is at least one colour to pick and no weight is negative or not a number.
+     *
+     * @param colourWeights relative chance of each colour ordinal.
+     * @throws IllegalArgumentException if no colour could be picked.
+     */
+    private static void checkColourWeights(double[] colourWeights) {
+        if (colourWeights == null || colourWeights.length == 0) {
+            throw new IllegalArgumentException("Fish need at least one colour weight");
+        }
+        double total = 0;
+        for (double weight : colourWeights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Colour weights must be finite and not negative: "
+                        + Arrays.toString(colourWeights));
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Colour weights must not all be zero: " + Arrays.toString(colourWeights));
+        }
+    }
+
+    /**
+     * Picks a colour ordinal with a chance in proportion to its weight.
+     *
+     * @param colourWeights relative chance of each colour ordinal.
+     * @return colour ordinal.
+     */
+    private int pickColour(double[] colourWeights) {
+        double total = 0;
+        for (double weight : colourWeights) {
+            total += weight;
+        }
+        double pick = random.nextDouble() * total;
+        for (int colour = 0; colour < colourWeights.length - 1; colour++) {
+            pick -= colourWeights[colour];
+            if (pick < 0) {
+                return colour;
+            }
+        }
+        return colourWeights.length - 1;
+    }
+}
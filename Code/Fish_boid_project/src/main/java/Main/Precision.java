@@ -0,0 +1,34 @@
+/**
+ * Precision.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import java.util.Locale;
+
+/**
+ * This is a precision class, an enum of how precisely the simulation state is kept.
+ * Chosen at startup with the fishboid.precision system property, for example -Dfishboid.precision=float.
+ * A float precision store keeps its movement state in float arrays, half the memory per creature of a double one,
+ * and the physics update and flocking both work in float maths on them.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public enum Precision {
+    //positions, velocities and accelerations are doubles and are moved with double maths.
+    DOUBLE,
+    //positions, velocities and accelerations are floats and are moved with float maths.
+    FLOAT;
+
+    /**
+     * Gets the precision chosen by the fishboid.precision system property, double when not set.
+     *
+     * @return precision.
+     */
+    public static Precision fromSystemProperty() {
+        return valueOf(System.getProperty("fishboid.precision", DOUBLE.name()).toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * PrecisionDrift.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * This is a precision drift class, running a double precision world and a float precision world side by side
+ * from the same seed and spawns to show how far apart they drift.
+ * ============
+ * The float world keeps its state in float arrays and moves it with float maths, so this measures what the smaller
+ * state does to the behaviour, and the timings at the end show what it does to the speed.
+ * Flocking is chaotic, so single fish are expected to part ways after a while whatever the precision,
+ * and the position drift is only interesting for the first few hundred ticks.
+ * What should stay the same for the whole run is how the schools behave, so each report also gives the polarisation
+ * (how lined up every fish is, 1 when all swim the same way) and the mean number of neighbours for both worlds.
+ * Run from the command line with a fish count and a number of ticks.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public class PrecisionDrift {
+    private static final double BOARD_WIDTH = 990, BOARD_HEIGHT = 675;//size of the board in the UI
+    private static final int BOARD_FISH = 1000;//fish on a normal sized board
+    private static final long SEED = 42;
+
+    /**
+     * Not to be constructed, only run from the command line.
+     */
+    private PrecisionDrift() {
+    }
+
+    /**
+     * Builds a world with randomly placed fish and sharks, at the density of 1,000 fish on the real board.
+     *
+     * @param fish fish count.
+     * @param sharks shark count.
+     * @param precision how precisely positions and velocities are kept.
+     * @return new world.
+     */
+    private static SimulationWorld createWorld(int fish, int sharks, Precision precision) {
+        double scale = Math.sqrt(Math.max(1.0, (double) fish / BOARD_FISH));
+        SimulationWorld world = new SimulationWorld(BOARD_WIDTH * scale, BOARD_HEIGHT * scale, TickMode.SEQUENTIAL,
+                SEED, PhysicsMode.fromSystemProperty(), precision);
+        Random random = new Random(SEED);
+        for (int i = 0; i < fish; i++) {
+            world.spawn("fish", random.nextDouble() * world.getWidth(), random.nextDouble() * world.getHeight(),
+                    random.nextInt(4));
+        }
+        for (int i = 0; i < sharks; i++) {
+            world.spawn("shark", random.nextDouble() * world.getWidth(), random.nextDouble() * world.getHeight(),
+                    CreatureStore.NO_COLOUR);
+        }
+        return world;
+    }
+
+    /**
+     * Gets how lined up the fish are, the length of the mean of every fish's direction.
+     *
+     * @param fishes fish to measure.
+     * @return polarisation between 0 and 1.
+     */
+    private static double polarisation(List<Fish> fishes) {
+        double sumX = 0, sumY = 0;
+        int moving = 0;
+        for (Fish fish : fishes) {
+            double speed = Math.hypot(fish.getVelocityX(), fish.getVelocityY());
+            if (speed > 0) {
+                sumX += fish.getVelocityX() / speed;
+                sumY += fish.getVelocityY() / speed;
+                moving++;
+            }
+        }
+        return moving == 0 ? 0 : Math.hypot(sumX, sumY) / moving;
+    }
+
+    /**
+     * Gets the mean number of fish that steered each fish at the last tick.
+     *
+     * @param fishes fish to measure.
+     * @return mean neighbours.
+     */
+    private static double meanNeighbours(List<Fish> fishes) {
+        long pairs = 0;
+        for (Fish fish : fishes) {
+            pairs += fish.neighbourPairs;
+        }
+        return fishes.isEmpty() ? 0 : (double) pairs / fishes.size();
+    }
+
+    /**
+     * Prints one line comparing the two worlds, matching fish by id as eating can take them out in different orders.
+     *
+     * @param doubleWorld double precision world.
+     * @param floatWorld float precision world.
+     */
+    private static void report(SimulationWorld doubleWorld, SimulationWorld floatWorld) {
+        Map<Long, Fish> floatFish = new HashMap<>();
+        for (Fish fish : floatWorld.getFishes()) {
+            floatFish.put(fish.getId(), fish);
+        }
+        double driftSum = 0, maxDrift = 0;
+        int matched = 0;
+        for (Fish fish : doubleWorld.getFishes()) {
+            Fish other = floatFish.get(fish.getId());
+            if (other != null) {
+                double drift = Math.hypot(fish.getX() - other.getX(), fish.getY() - other.getY());
+                driftSum += drift;
+                maxDrift = Math.max(maxDrift, drift);
+                matched++;
+            }
+        }
+        System.out.printf("%8d %7d %7d %10.4f %10.2f %9.3f %9.3f %8.2f %8.2f%n", doubleWorld.getTick(),
+                doubleWorld.getFishes().size(), floatWorld.getFishes().size(), matched == 0 ? 0 : driftSum / matched,
+                maxDrift, polarisation(doubleWorld.getFishes()), polarisation(floatWorld.getFishes()),
+                meanNeighbours(doubleWorld.getFishes()), meanNeighbours(floatWorld.getFishes()));
+    }
+
+    /**
+     * Runs both worlds and reports how far apart they are every interval.
+     *
+     * @param args fish count, ticks, optionally ticks between reports and shark count.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: PrecisionDrift <fish> <ticks> [interval] [sharks]");
+            return;
+        }
+        int fish = Integer.parseInt(args[0]);
+        long ticks = Long.parseLong(args[1]);
+        long interval = args.length > 2 ? Long.parseLong(args[2]) : 100;
+        int sharks = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        SimulationWorld doubleWorld = createWorld(fish, sharks, Precision.DOUBLE);
+        SimulationWorld floatWorld = createWorld(fish, sharks, Precision.FLOAT);
+        System.out.printf("%8s %7s %7s %10s %10s %9s %9s %8s %8s%n", "tick", "fish d", "fish f", "mean drift",
+                "max drift", "polar d", "polar f", "nbrs d", "nbrs f");
+        long doubleNanos = 0, floatNanos = 0;
+        for (long tick = 1; tick <= ticks; tick++) {
+            long start = System.nanoTime();
+            doubleWorld.step();
+            long middle = System.nanoTime();
+            floatWorld.step();
+            floatNanos += System.nanoTime() - middle;
+            doubleNanos += middle - start;
+            if (tick % interval == 0 || tick == ticks) {
+                report(doubleWorld, floatWorld);
+            }
+        }
+        System.out.printf("Double %.0f ticks/s, float %.0f ticks/s%n", ticks / (doubleNanos / 1e9),
+                ticks / (floatNanos / 1e9));
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * RangeIntegrator.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+/**
+ * This is a range integrator interface, a physics update for a range of creatures that can stand in for part of
+ * the scalar update.
+ * The vector integrator is only compiled with the vector build profile, so physics modes find it by name.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+interface RangeIntegrator {
+    /**
+     * Adds acceleration to velocity and velocity to position for as many creatures of a range as it can.
+     *
+     * @param store creature store to read from.
+     * @param from first creature index.
+     * @param to index after the last creature.
+     * @param x x positions to write to.
+     * @param y y positions to write to.
+     * @param vx x velocities to write to.
+     * @param vy y velocities to write to.
+     * @return index after the last creature done, the rest are left for the scalar update.
+     */
+    int integrate(CreatureStore store, int from, int to, double[] x, double[] y, double[] vx, double[] vy);
+
+    /**
+     * Adds acceleration to velocity and velocity to position for as many creatures of a float store's range as it can.
+     *
+     * @param store float creature store to read from.
+     * @param from first creature index.
+     * @param to index after the last creature.
+     * @param x x positions to write to.
+     * @param y y positions to write to.
+     * @param vx x velocities to write to.
+     * @param vy y velocities to write to.
+     * @return index after the last creature done, the rest are left for the scalar update.
+     */
+    int integrate(CreatureStore store, int from, int to, float[] x, float[] y, float[] vx, float[] vy);
+}
@@ -0,0 +1,168 @@
+/**
+ * ReplayEngine.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This is a replay engine class, rebuilding a run headlessly from its input log as fast as the machine allows.
+ * ============
+ * The world is stepped without any board attached, applying each input at the tick it was recorded at.
+ * It runs with the physics mode and precision the log was recorded in, so the system properties of the program
+ * replaying it make no difference.
+ * A vector physics log replays in scalar physics when the vector update is not available, which moves every
+ * creature exactly the same.
+ * Every so many ticks the world is saved into an in memory snapshot, so seeking to any tick only has to load the
+ * nearest checkpoint before it and step forward from there.
+ * Run from the command line with an input log and a tick to replay up to.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public class ReplayEngine {
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 625;//ten seconds of 16 ms ticks
+    private final List<InputLog.Input> inputs;
+    private final int checkpointInterval;
+    private final SimulationWorld world;
+    private final TreeMap<Long, ByteBuffer> checkpoints = new TreeMap<>();
+    private int nextInput;//first input not yet applied
+
+    /**
+     * Constructor for a replay engine object in the tick mode the log was recorded in.
+     *
+     * @param log recorded inputs.
+     * @param checkpointInterval ticks between checkpoints.
+     */
+    public ReplayEngine(InputLog log, int checkpointInterval) {
+        this(log, log.getTickMode(), checkpointInterval);
+    }
+
+    /**
+     * Constructor for a replay engine object, starting from an empty board at tick zero.
+     *
+     * @param log recorded inputs.
+     * @param tickMode how each tick is worked out, either gives the same replay.
+     * @param checkpointInterval ticks between checkpoints.
+     */
+    public ReplayEngine(InputLog log, TickMode tickMode, int checkpointInterval) {
+        this.inputs = log.getInputs();
+        this.checkpointInterval = checkpointInterval;
+        this.world = new SimulationWorld(0, 0, tickMode, log.getSeed(), log.getPhysicsMode(), log.getPrecision());
+    }
+
+    /**
+     * Replays forward up to the given tick, checkpointing along the way.
+     *
+     * @param tick tick to stop at, inputs recorded at it are not applied yet.
+     */
+    public void runTo(long tick) {
+        while (world.getTick() < tick) {
+            applyInputs();
+            //after the inputs, as saving applies pending changes the same way the step is about to
+            if (world.getTick() % checkpointInterval == 0 && !checkpoints.containsKey(world.getTick())) {
+                checkpoints.put(world.getTick(), WorldSnapshot.save(world, false));
+            }
+            world.step();
+        }
+    }
+
+    /**
+     * Moves the replay to any tick, going back to the nearest checkpoint if it is behind the current tick
+     * or closer than it.
+     * Checkpoints already hold the inputs recorded at their tick, so the one used is the last before the tick moved to,
+     * leaving that tick's inputs unapplied as runTo does.
+     *
+     * @param tick tick to move to.
+     * @throws IOException if a checkpoint cannot be loaded.
+     */
+    public void seek(long tick) throws IOException {
+        Map.Entry<Long, ByteBuffer> checkpoint = checkpoints.lowerEntry(tick);
+        if (checkpoint != null && (tick < world.getTick() || checkpoint.getKey() > world.getTick())) {
+            WorldSnapshot.load(world, checkpoint.getValue());
+            nextInput = firstInputAt(checkpoint.getKey() + 1);
+        } else if (tick < world.getTick()) {
+            throw new IllegalStateException("No checkpoint before tick " + tick);
+        }
+        runTo(tick);
+    }
+
+    /**
+     * Gets the world being replayed.
+     *
+     * @return replay world.
+     */
+    public SimulationWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Gets the number of checkpoints saved so far.
+     *
+     * @return checkpoint count.
+     */
+    public int getCheckpointCount() {
+        return checkpoints.size();
+    }
+
+    /**
+     * Applies every input recorded at the current tick.
+     */
+    private void applyInputs() {
+        while (nextInput < inputs.size() && inputs.get(nextInput).tick <= world.getTick()) {
+            inputs.get(nextInput++).apply(world);
+        }
+    }
+
+    /**
+     * Finds the first input recorded at or after a tick.
+     *
+     * @param tick tick.
+     * @return input position.
+     */
+    private int firstInputAt(long tick) {
+        int low = 0, high = inputs.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (inputs.get(middle).tick < tick) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Replays an input log headlessly up to a tick and reports how fast it ran.
+     *
+     * @param args input log file, tick to replay to, and optionally sequential or parallel instead of the logged mode.
+     * @throws IOException if the log cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ReplayEngine <input log> <tick> [sequential|parallel]");
+            return;
+        }
+        InputLog log = InputLog.load(Path.of(args[0]));
+        TickMode tickMode = args.length > 2 ? TickMode.valueOf(args[2].toUpperCase(Locale.ROOT)) : log.getTickMode();
+        ReplayEngine replay = new ReplayEngine(log, tickMode, DEFAULT_CHECKPOINT_INTERVAL);
+        long tick = Long.parseLong(args[1]);
+        long start = System.nanoTime();
+        replay.runTo(tick);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        SimulationWorld world = replay.getWorld();
+        double realSeconds = tick * SimulationLoop.TICK_NANOS / 1e9;
+        System.out.printf("Replayed %d ticks in %.2fs (%.0f ticks/s, %.1fx real time), %d fish, %d sharks%n",
+                tick, seconds, tick / seconds, realSeconds / seconds, world.getFishes().size(), world.getSharks().size());
+    }
+}
@@ -6,12 +6,6 @@
  */
 package Main;
 
-import UI.CreatureUiController;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.scene.layout.Pane;
-import javafx.util.Duration;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -24,108 +18,168 @@ public abstract class SeaCreature {
     protected double MAX_FORCE = 0.15;
     protected double BORDER_OFFSET;
     protected double MAX_SPEED;
-    protected Vector position;
-    protected Vector velocity;
-    protected Vector acceleration;
-    private double wanderTheta;
-    protected Pane boardReference;
-    protected CreatureUiController entityView;
-    private final Timeline movement;
-    private Applications app;
+    protected final CreatureStore store;
+    int index = -1;//slot in the creature store, kept up to date by the store
+    long id = -1;//unique for each spawn into the world, a reused creature gets a new one
+    boolean moving;//wanted state, set straight away by start and stop moving
+    boolean registered;//whether the world is moving it this tick
+    double wanderTheta;//angle of the wander point, drifts randomly
+    long randomState;//position in the creature's own random number stream
+    protected final SimulationWorld world;
+    protected CreatureView entityView;
     protected PhysicsHandler physicsHandler;
+    //scratch vectors reused every tick so steering creates no new objects
+    private final Vector boundaryForce = new Vector(0, 0);
+    private final Vector wanderForce = new Vector(0, 0);
+    private final Vector seekForce = new Vector(0, 0);
+    protected final Vector separationForce = new Vector(0, 0);
 
     /**
      * Constructor for a sea creature object.
+     * Subclasses add themselves to the store once their max speed is set.
      *
-     * @param boardReference board reference.
+     * @param world world the creature lives in.
      */
-    public SeaCreature(Pane boardReference) {
-        this.boardReference = boardReference;
-        this.wanderTheta = Math.PI/2;
-        this.velocity = new Vector(0, 0);//empty initial velocity
-        this.acceleration = new Vector(0, 0);//empty initial acceleration
-        this.movement = new Timeline(new KeyFrame(Duration.millis(16), _ -> app.moveEntities(this)));
-        this.movement.setCycleCount(Timeline.INDEFINITE);
-        this.physicsHandler = new PhysicsHandler();
+    public SeaCreature(SimulationWorld world) {
+        this.world = world;
+        this.store = world.getStore();
+        this.physicsHandler = world.getPhysicsHandler();
     }
 
     /**
-     * Creates an instance of itself based off of its type.
+     * Creates an instance of itself based off of its type, not yet placed into the store.
      *
      * @param type creature type.
-     * @param x position.
-     * @param y position.
-     * @param boardReference board reference.
-     * @param fishes fish reference.
-     * @param sharks shark reference.
+     * @param world world reference.
      * @return fish or shark object.
      */
-    public static SeaCreature create(String type, double x, double y, Pane boardReference, List<Fish> fishes, List<Shark> sharks) {
+    public static SeaCreature create(String type, SimulationWorld world) {
         return switch (type) {
-            case "fish" -> new Fish(x, y, boardReference, (ArrayList<Fish>) fishes, sharks);
-            case "shark" -> new Shark(x, y, boardReference, fishes);
+            case "fish" -> new Fish(world);
+            case "shark" -> new Shark(world);
             default -> throw new IllegalStateException("Unexpected value: " + type);
         };
     }
 
     /**
-     * Starts the entity movement timeline.
+     * Adds the creature to the store at rest at the given position.
+     * Used whenever the creature is spawned, whether newly created or taken from the pool.
+     *
+     * @param xPos x axis position.
+     * @param yPos y axis position.
+     * @param colour colour ordinal, or no colour.
+     */
+    abstract void place(double xPos, double yPos, int colour);
+
+    /**
+     * Clears anything left over from the creature's last time in the world.
+     */
+    void reset() {
+        wanderTheta = Math.PI/2;
+        entityView = null;
+    }
+
+    /**
+     * Starts the creature's own random number stream from the world seed and its id.
+     * Each creature drawing from its own stream keeps a run the same for the same seed,
+     * whatever order or thread the creatures are moved on.
+     *
+     * @param worldSeed seed of the world.
+     */
+    void seedRandom(long worldSeed) {
+        randomState = mix64(worldSeed + mix64(id));
+    }
+
+    /**
+     * Gets the next random number from the creature's own stream, using the SplitMix64 generator.
+     *
+     * @return random number from zero up to one.
+     */
+    double nextRandom() {
+        randomState += 0x9E3779B97F4A7C15L;//golden ratio step
+        return (mix64(randomState) >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Scrambles the bits of a number so close inputs give unrelated outputs.
+     *
+     * @param value value.
+     * @return scrambled value.
+     */
+    private static long mix64(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Registers the entity with the world so it is moved every tick.
      */
     public void startMoving() {
-        movement.play();
+        world.register(this);
     }
 
     /**
-     * Stops the entity movement timeline.
+     * Unregisters the entity from the world so it stops moving and leaves the world.
      */
     public void stopMoving() {
-        movement.stop();
+        world.unregister(this);
     }
 
     /**
      * Random wander movements generated by a wander point around a wander radius.
      */
     public void wander() {
-        Vector targetVelocity = velocity.copy();//a target point set 100 pixels ahead
+        Vector targetVelocity = wanderForce.set(getVelocityX(), getVelocityY());//a target point set 100 pixels ahead
         targetVelocity.setMagnitude(100);
-        targetVelocity.add(getPosition());
+        targetVelocity.add(getX(), getY());
 
         double wanderRadius = 50;//radius around wander point
-        double theta = wanderTheta + velocity.getHeading();
+        double theta = wanderTheta + getHeading();
         double x = wanderRadius * Math.cos(theta);
         double y = wanderRadius * Math.sin(theta);
-        targetVelocity.add(new Vector(x,y));
+        targetVelocity.add(x, y);
 
-        Vector steerForce = targetVelocity.subtract(getPosition());//steer position to wander point
+        Vector steerForce = targetVelocity.subtract(getX(), getY());//steer position to wander point
         steerForce.setMagnitude(MAX_FORCE);
         physicsHandler.applyForce(this, steerForce);
+
         double RANGE_DISPLACEMENT = 0.3;
         //randomly displace wander theta to change wander direction.
-        wanderTheta += -RANGE_DISPLACEMENT + (RANGE_DISPLACEMENT + RANGE_DISPLACEMENT) * Math.random();
+        wanderTheta += -RANGE_DISPLACEMENT + (RANGE_DISPLACEMENT + RANGE_DISPLACEMENT) * nextRandom();
+    }
+
+    /**
+     * Makes the changes from this tick that touch other creatures.
+     * Steering only reads shared state, so this is called in creature order once steering is done,
+     * keeping a tick the same however many threads did the steering.
+     */
+    public void commitTick() {
     }
 
     /**
      * Calculates a steer fore based off of the closeness of the board edges.
+     * The returned vector is reused by the next call.
      *
      * @return boundary steer force.
      */
     public Vector checkBoundaries() {
-        Vector steerForce = new Vector(0, 0);//no steering force at first
+        Vector steerForce = boundaryForce.set(0, 0);//no steering force at first
         double strength;
-        if (getPosition().x < BORDER_OFFSET) {//push right when at left border offset
+        if (getX() < BORDER_OFFSET) {//push right when at left border offset
             //gradually increased strength as it gets closer meaning less to minus from final strength
-            strength = 1.0 - (getPosition().x / BORDER_OFFSET);
+            strength = 1.0 - (getX() / BORDER_OFFSET);
             //add strength to rightward steer force scaled by the max force allowed
             steerForce.x += strength * MAX_FORCE;
-        } else if (getPosition().x > boardReference.getWidth() - BORDER_OFFSET) {//push left when at right border offset
-            strength = 1.0 - ((boardReference.getWidth() - getPosition().x) / BORDER_OFFSET);
+        } else if (getX() > world.getWidth() - BORDER_OFFSET) {//push left when at right border offset
+            strength = 1.0 - ((world.getWidth() - getX()) / BORDER_OFFSET);
             steerForce.x -= strength * MAX_FORCE;
         }
-        if (getPosition().y < BORDER_OFFSET) {//push down when at upper border offset
-            strength = 1.0 - (getPosition().y / BORDER_OFFSET);
+        if (getY() < BORDER_OFFSET) {//push down when at upper border offset
+            strength = 1.0 - (getY() / BORDER_OFFSET);
             steerForce.y += strength * MAX_FORCE;
-        } else if (getPosition().y > boardReference.getHeight() - BORDER_OFFSET) {//push up when at lower border offset
-            strength = 1.0 - ((boardReference.getHeight() - getPosition().y) / BORDER_OFFSET);
+        } else if (getY() > world.getHeight() - BORDER_OFFSET) {//push up when at lower border offset
+            strength = 1.0 - ((world.getHeight() - getY()) / BORDER_OFFSET);
             steerForce.y -= strength * MAX_FORCE;
         }
 
@@ -138,46 +192,79 @@ public abstract class SeaCreature {
 
     /**
      * Calculates the steer force for separating from other entities.
+     * The returned vector is reused by the next call.
      *
      * @param Entities others.
      * @return steer force.
      */
     public Vector calculateSeparationForce(List<? extends SeaCreature> Entities) {
-        double desiredSeparation;
+        double desiredSeparation = getDesiredSeparation();
+        Vector steerForce = separationForce.set(0, 0);
+        int count = 0;
+
+        for (int i = 0; i < Entities.size(); i++) {
+            if (addSeparation(Entities.get(i), desiredSeparation, steerForce)) {
+                count++;
+            }
+        }
+        return finishSeparationForce(steerForce, count);
+    }
+
+    /**
+     * Gets how far this entity tries to keep from others.
+     *
+     * @return separation distance.
+     */
+    private double getDesiredSeparation() {
         if (this instanceof Shark) {
-            desiredSeparation = 50;
+            return 50;
         } else {
-            desiredSeparation = 30;
+            return 30;
         }
-        Vector steerForce = new Vector(0, 0);
-        int count = 0;
+    }
 
-        for (SeaCreature otherEntity : Entities) {
-            if (otherEntity != this) {
-                double distance = getDifference(this.getPosition(), otherEntity.getPosition()).getMagnitude();
-                if (distance > 0 && distance < desiredSeparation) {//vector pointing away from neighbour
-                    Vector diff = getDifference(this.getPosition(), otherEntity.getPosition());
-                    diff.normalize();
-                    diff.divide(distance);//weight by distance
-
-                    if (this instanceof Fish thisFish && otherEntity instanceof Fish otherFish) {//different
-                        if (thisFish.entityView.getColour() != otherFish.entityView.getColour()) {
-                            diff.multiply(2.0);
-                        }
+    /**
+     * Adds a vector pointing away from the other entity to the steer force if it is too close.
+     *
+     * @param otherEntity other.
+     * @param desiredSeparation separation distance.
+     * @param steerForce running steer force total.
+     * @return if the other entity was too close.
+     */
+    private boolean addSeparation(SeaCreature otherEntity, double desiredSeparation, Vector steerForce) {
+        if (otherEntity != this) {
+            double diffX = store.getX(index) - store.getX(otherEntity.index);
+            double diffY = store.getY(index) - store.getY(otherEntity.index);
+            double distanceSq = DistanceQuery.distanceSqWithin(diffX, diffY, desiredSeparation);
+            if (distanceSq > 0) {//vector pointing away from neighbour
+                double scale = 1.0;
+                if (this instanceof Fish && otherEntity instanceof Fish) {//different
+                    if (store.colour[index] != store.colour[otherEntity.index]) {
+                        scale = 2.0;
                     }
-
-                    steerForce.add(diff);
-                    count++;
                 }
+                //normalized then weighted by distance
+                steerForce.add(diffX / distanceSq * scale, diffY / distanceSq * scale);
+                return true;
             }
         }
+        return false;
+    }
 
+    /**
+     * Averages the summed separation vectors and turns them into a steer force.
+     *
+     * @param steerForce summed separation vectors.
+     * @param count number of entities too close.
+     * @return steer force.
+     */
+    protected Vector finishSeparationForce(Vector steerForce, int count) {
         if (count > 0) {
             steerForce.divide(count);//average
         }
         if (steerForce.getMagnitude() > 0) {
             steerForce.setMagnitude(MAX_SPEED);
-            steerForce.subtract(this.velocity);
+            steerForce.subtract(getVelocityX(), getVelocityY());
             steerForce.limitMagnitude(MAX_FORCE);
         }
         return steerForce;
@@ -185,16 +272,29 @@ public abstract class SeaCreature {
 
     /**
      * returns the steering force pointing towards the target vector.
+     * The returned vector is reused by the next call.
      *
      * @param target vector position.
      * @return steer force.
      */
     public Vector seek(Vector target) {
+        return seek(target.x, target.y);
+    }
+
+    /**
+     * returns the steering force pointing towards the target point.
+     * The returned vector is reused by the next call.
+     *
+     * @param targetX x position.
+     * @param targetY y position.
+     * @return steer force.
+     */
+    public Vector seek(double targetX, double targetY) {
         //calculate desired velocity
-        Vector desiredSteerForce = target.copy().subtract(getPosition());
+        Vector desiredSteerForce = seekForce.set(targetX, targetY).subtract(getX(), getY());
         desiredSteerForce.setMagnitude(MAX_SPEED);
         //steering force is desired velocity minus velocity
-        desiredSteerForce.subtract(velocity);
+        desiredSteerForce.subtract(getVelocityX(), getVelocityY());
         desiredSteerForce.limitMagnitude(MAX_FORCE);
         return desiredSteerForce;
     }
@@ -203,69 +303,124 @@ public abstract class SeaCreature {
      * Shows the position and heading of the entity based of what the position and velocity have been changed to.
      */
     public void showEntityViewUpdate() {
-        entityView.setPosition(getPosition().x, getPosition().y);
-        entityView.setRotation(Math.toDegrees(velocity.getHeading()));
+        if (entityView == null) {
+            return;//not shown anywhere
+        }
+        entityView.setPosition(getX(), getY());
+        entityView.setRotation(Math.toDegrees(getHeading()));
     }
 
     /**
-     * gets difference between 2 given vectors (returns vector with a magnitude of that difference).
+     * Checks if another entity is closer to this entity than a radius.
      *
-     * @param startPosition starting vector.
-     * @param targetPosition ending vector.
-     * @return new magnitude of difference.
+     * @param otherEntity other.
+     * @param radius distance the other entity must be closer than.
+     * @return if the other entity is in range.
      */
-    protected Vector getDifference(Vector startPosition, Vector targetPosition) {
-        return startPosition.copy().subtract(targetPosition);
+    protected boolean isWithin(SeaCreature otherEntity, double radius) {
+        return DistanceQuery.isWithin(store.getX(index) - store.getX(otherEntity.index),
+                store.getY(index) - store.getY(otherEntity.index), radius);
     }
 
     /**
-     * Returns the entity position.
+     * Returns the entity x position.
      *
-     * @return entity position.
+     * @return x position.
      */
-    public Vector getPosition() {
-        return position;
+    public double getX() {
+        return store.getX(index);
     }
 
     /**
-     * Returns the entity velocity.
+     * Returns the entity y position.
      *
-     * @return entity velocity.
+     * @return y position.
      */
-    public Vector getVelocity() {
-        return velocity;
+    public double getY() {
+        return store.getY(index);
     }
 
     /**
-     * Returns the entity acceleration.
+     * Returns the entity x velocity.
      *
-     * @return entity acceleration.
+     * @return x velocity.
      */
-    public Vector getAcceleration() {
-        return acceleration;
+    public double getVelocityX() {
+        return store.getVelocityX(index);
     }
 
     /**
-     * Returns the entity view.
+     * Returns the entity y velocity.
      *
-     * @return entity view.
+     * @return y velocity.
      */
-    public CreatureUiController getEntityView() {
-        return entityView;
+    public double getVelocityY() {
+        return store.getVelocityY(index);
     }
 
     /**
-     * Sets the application.
+     * Gets the angle the entity is heading in based on its velocity.
      *
-     * @param app application.
+     * @return angle of direction.
      */
-    public void setApp(Applications app) {
-        this.app = app;
+    public double getHeading() {
+        return Math.atan2(store.getVelocityY(index), store.getVelocityX(index));
     }
 
+    /**
+     * Returns if the entity is still moving, false once it has been eaten or cleared.
+     *
+     * @return if moving.
+     */
+    public boolean isMoving() {
+        return moving;
+    }
+
+    /**
+     * Returns the id the world gave the entity when it was spawned.
+     *
+     * @return creature id.
+     */
+    public long getId() {
+        return id;
+    }
 
-    public void setEntityView(CreatureUiController entityView) {
+    /**
+     * Returns the slot of the entity in the creature store.
+     *
+     * @return store index.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the entity colour ordinal, or no colour for a shark.
+     *
+     * @return colour ordinal.
+     */
+    public int getColour() {
+        return store.colour[index];
+    }
+
+    /**
+     * Returns the entity view.
+     *
+     * @return entity view, null when nothing is showing it.
+     */
+    public CreatureView getEntityView() {
+        return entityView;
+    }
+
+    /**
+     * Sets the entity view and moves it to the entity position.
+     *
+     * @param entityView entity view.
+     */
+    public void setEntityView(CreatureView entityView) {
         this.entityView = entityView;
-        this.entityView.setPosition(getPosition().x, getPosition().y);
+        if (entityView != null) {
+            entityView.setPosition(getX(), getY());
+        }
     }
 }
@@ -6,8 +6,7 @@
  */
 package Main;
 
-import javafx.scene.layout.Pane;
-import java.util.List;
+import jdk.jfr.EventType;
 
 /**
  * This is a shark class, a blueprint for all shark objects.
@@ -16,63 +15,91 @@ import java.util.List;
  * @version 1.0
  */
 public class Shark extends SeaCreature {
-    private final List<Fish> fishesReference;
+    private static final EventType EATEN_EVENT_TYPE = EventType.getEventType(FishEatenEvent.class);
+    private final SpatialGrid fishGrid;
+    private Fish caughtFish;//fish close enough to eat, eaten in commitTick
 
     /**
-     * Constructor for a shark object.
-     * @param xPos x axis position.
-     * @param yPos y axis position.
-     * @param boardReference board object reference.
-     * @param fishesReference fishes list reference.
+     * Constructor for a shark object, placed into the store afterwards by the world.
+     * @param world world reference.
      */
-    public Shark(double xPos, double yPos, Pane boardReference, List<Fish> fishesReference) {
-        super(boardReference);
-        this.position = new Vector(xPos, yPos);
-        this.fishesReference = fishesReference;
+    public Shark(SimulationWorld world) {
+        super(world);
+        this.fishGrid = world.getFishGrid();
         this.MAX_SPEED = 2.8;
         this.BORDER_OFFSET = 100;
     }
 
+    /**
+     * Adds the shark to the store at rest at the given position.
+     *
+     * @param xPos x axis position.
+     * @param yPos y axis position.
+     * @param colour ignored, sharks have no colour.
+     */
+    @Override
+    final void place(double xPos, double yPos, int colour) {
+        reset();
+        caughtFish = null;
+        store.add(this, CreatureStore.SHARK, CreatureStore.NO_COLOUR, xPos, yPos, MAX_SPEED);
+    }
+
     /**
      * Applies a seek force for the calculated predicted position of the target fish.
      *
      * @param target fish.
      */
     public void pursue(Fish target) {
-        Vector targetPosition = target.getPosition().copy();
-        Vector predictedPosition = target.getVelocity().copy().multiply(10);//prediction of 10 pixels ahead
-        targetPosition.add(predictedPosition);
-        physicsHandler.applyForce(this, seek(targetPosition));
+        //prediction of 10 pixels ahead
+        double predictedX = target.getX() + target.getVelocityX() * 10;
+        double predictedY = target.getY() + target.getVelocityY() * 10;
+        physicsHandler.applyForce(this, seek(predictedX, predictedY));
     }
 
     /**
-     * Removes fish if within the target distance for a shark to eat it.
+     * Catches the fish if within the target distance for a shark to eat it.
+     * The fish is removed in commitTick.
      *
      * @param target fish.
      */
     public void eatFish(Fish target) {
-        double distance = getDifference(this.getPosition(), target.getPosition()).getMagnitude();
-        if (distance < 20) {
-            fishesReference.remove(target);
-            boardReference.getChildren().remove(target.getEntityView().getView());
+        if (isWithin(target, 20)) {
+            caughtFish = target;
         }
     }
 
     /**
-     * Finds the closest fish on the board to the shark.
-     *
-     * @return closest fish.
+     * Removes the fish caught this tick, unless another shark already ate it.
+     * A fish eaten event is recorded for the flight recorder when one is running.
      */
-    public Fish getTarget() {
-        Fish closestFish = null;
-        double closestDistance = 10000;
-        for (Fish fish : fishesReference) {
-            double distance = getDifference(this.getPosition(), fish.getPosition()).getMagnitude();
-            if (distance < closestDistance) {
-                closestDistance = distance;
-                closestFish = fish;
+    @Override
+    public void commitTick() {
+        super.commitTick();
+        if (caughtFish != null) {
+            Fish target = caughtFish;
+            caughtFish = null;
+            if (world.removeFish(target)) {
+                if (EATEN_EVENT_TYPE.isEnabled()) {//the fish keeps its store slot until the next tick
+                    FishEatenEvent event = new FishEatenEvent();
+                    event.tick = world.getTick();
+                    event.sharkId = id;
+                    event.fishId = target.getId();
+                    event.fishColour = store.colour[target.index];
+                    event.x = target.getX();
+                    event.y = target.getY();
+                    event.commit();
+                }
             }
         }
-        return closestFish;
+    }
+
+    /**
+     * Finds the closest fish on the board to the shark, searching outwards through the fish grid.
+     *
+     * @return closest fish, or null if there is none in range.
+     */
+    public Fish getTarget() {
+        int closest = fishGrid.nearest(store, getX(), getY(), 10000);
+        return closest < 0 ? null : (Fish) store.get(closest);
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+/**
+ * SimulationLoop.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import javafx.animation.AnimationTimer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This is a simulation loop class, the single javaFX clock that steps the simulation world and redraws it.
+ * Each frame the elapsed time is added to an accumulator and the world is stepped in fixed ticks,
+ * so creatures move at the same speed no matter how fast frames are drawn.
+ * ============
+ * Time warp multiplies the ticks owed for the elapsed time, and at max warp the loop ticks for most of each frame.
+ * While warped the board is redrawn at most 30 times a second, so the time goes on the simulation rather than drawing.
+ * The ticks actually run each second are passed to a listener to be shown.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public class SimulationLoop extends AnimationTimer {
+    static final long TICK_NANOS = 16_000_000L;//fixed 16 ms simulation step
+    private static final int MAX_TICKS_PER_FRAME = 5;//stops a slow frame from snowballing into more work
+    private static final long MAX_WARP_BUDGET_NANOS = 14_000_000L;//ticking time per frame at max warp
+    private static final long WARP_RENDER_INTERVAL_NANOS = 33_000_000L;//about 30 redraws a second while warped
+    private static final long STEP_RATE_INTERVAL_NANOS = 1_000_000_000L;
+    private final SimulationWorld world;
+    private final FrameRenderer renderer;
+    private long lastFrameTime = -1;
+    private long accumulator;
+    private TimeWarp timeWarp = TimeWarp.X1;
+    private long lastRenderTime;
+    private long stepRateStart = -1;
+    private long stepRateTicks;
+    private DoubleConsumer stepRateListener;
+
+    /**
+     * Constructor for a simulation loop object.
+     *
+     * @param world world to step.
+     * @param renderer draws the world after each frame's ticks.
+     */
+    public SimulationLoop(SimulationWorld world, FrameRenderer renderer) {
+        this.world = world;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Called by javaFX once per frame, runs as many fixed ticks as the elapsed time allows.
+     *
+     * @param now current frame time in nanoseconds.
+     */
+    @Override
+    public void handle(long now) {
+        if (lastFrameTime < 0) {
+            lastFrameTime = now;//first frame only sets the clock
+            return;
+        }
+        long elapsed = now - lastFrameTime;
+        lastFrameTime = now;
+        int ticks = 0;
+        if (timeWarp == TimeWarp.MAX) {
+            long deadline = System.nanoTime() + MAX_WARP_BUDGET_NANOS;
+            do {
+                world.step();
+                ticks++;
+            } while (System.nanoTime() < deadline);
+        } else {
+            accumulator += elapsed * timeWarp.getSpeed();
+            int maxTicks = MAX_TICKS_PER_FRAME * timeWarp.getSpeed();
+            while (accumulator >= TICK_NANOS && ticks < maxTicks) {
+                world.step();
+                accumulator -= TICK_NANOS;
+                ticks++;
+            }
+            if (ticks == maxTicks) {
+                accumulator = 0;//drop time we could not catch up on
+            }
+        }
+        countTicks(now, ticks);
+        if (ticks > 0 && (timeWarp == TimeWarp.X1 || now - lastRenderTime >= WARP_RENDER_INTERVAL_NANOS)) {
+            long renderStart = TickProfiler.ENABLED ? System.nanoTime() : 0;
+            renderer.renderFrame(world);
+            if (TickProfiler.ENABLED) {
+                world.getProfiler().record(TickProfiler.Phase.VIEW, System.nanoTime() - renderStart);
+            }
+            lastRenderTime = now;
+        }
+    }
+
+    /**
+     * Adds up the ticks run and tells the listener the ticks per second once a second.
+     *
+     * @param now current frame time in nanoseconds.
+     * @param ticks ticks run this frame.
+     */
+    private void countTicks(long now, int ticks) {
+        if (stepRateStart < 0) {
+            stepRateStart = now;
+        }
+        stepRateTicks += ticks;
+        long window = now - stepRateStart;
+        if (window >= STEP_RATE_INTERVAL_NANOS) {
+            if (stepRateListener != null) {
+                stepRateListener.accept(stepRateTicks * 1e9 / window);
+            }
+            stepRateStart = now;
+            stepRateTicks = 0;
+        }
+    }
+
+    /**
+     * Sets how much faster than real time to run.
+     *
+     * @param timeWarp time warp.
+     */
+    public void setTimeWarp(TimeWarp timeWarp) {
+        this.timeWarp = timeWarp;
+        accumulator = 0;
+    }
+
+    /**
+     * Gets how much faster than real time the loop runs.
+     *
+     * @return time warp.
+     */
+    public TimeWarp getTimeWarp() {
+        return timeWarp;
+    }
+
+    /**
+     * Sets the listener told the ticks actually run per second, once a second.
+     *
+     * @param stepRateListener ticks per second listener.
+     */
+    public void setStepRateListener(DoubleConsumer stepRateListener) {
+        this.stepRateListener = stepRateListener;
+    }
+
+    /**
+     * Stops the loop and resets the clock so a later start does not jump ahead.
+     */
+    @Override
+    public void stop() {
+        super.stop();
+        lastFrameTime = -1;
+        accumulator = 0;
+        stepRateStart = -1;
+        stepRateTicks = 0;
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * SimulationTickEvent.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * This is a simulation tick event class, a flight recorder event for every tick the world steps.
+ * The event lasts as long as the tick and carries how big the world was and how long each phase took,
+ * so slow ticks can be lined up with garbage collection and compilation in the same recording.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+@Name("fishboid.SimulationTick")
+@Label("Simulation Tick")
+@Category("Fish Boid")
+@Description("One step of the simulation world")
+@StackTrace(false)
+public class SimulationTickEvent extends jdk.jfr.Event {
+    @Label("Tick")
+    long tick;
+
+    @Label("Fish")
+    int fishCount;
+
+    @Label("Sharks")
+    int sharkCount;
+
+    @Label("Neighbour Pairs")
+    @Description("Fish pairs that steered each other in the flocking pass, counted from each fish's side")
+    long neighbourPairs;
+
+    @Label("Fish Eaten")
+    int fishEaten;
+
+    @Label("Spatial Grid")
+    @Timespan(Timespan.NANOSECONDS)
+    long gridDuration;
+
+    @Label("Boundary Check")
+    @Timespan(Timespan.NANOSECONDS)
+    long boundaryDuration;
+
+    @Label("Flocking")
+    @Timespan(Timespan.NANOSECONDS)
+    long flockingDuration;
+
+    @Label("Evade/Pursue")
+    @Timespan(Timespan.NANOSECONDS)
+    long evadePursueDuration;
+
+    @Label("Physics Update")
+    @Timespan(Timespan.NANOSECONDS)
+    long physicsDuration;
+}
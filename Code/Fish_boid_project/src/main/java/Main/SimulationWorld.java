@@ -0,0 +1,751 @@
+/**
+ * SimulationWorld.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import Main.TickProfiler.Phase;
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import jdk.jfr.EventType;
+
+/**
+ * This is a simulation world class, the whole flocking model without any javaFX.
+ * It owns the board bounds, every creature and the step function that moves them one tick.
+ * ============
+ * The javaFX board is attached as an optional observer, so the same world can run headless at full speed
+ * by calling step in a loop.
+ * In parallel tick mode steering and movement are split into chunks of creatures spread over every core.
+ * Steering only reads the current positions, movement writes into the store's back buffers which are then swapped,
+ * and anything that changes shared state is done afterwards in creature order so the result never depends on how
+ * many threads took part.
+ * Every creature draws random numbers from its own stream seeded from the world seed, so the same seed and the same
+ * spawns give the same run in either tick mode.
+ * Fish eaten during a tick only stop moving straight away, they leave the fish list and the board together once the
+ * tick is over.
+ * When profiling is on, or a flight recording wants tick events, each phase of the tick is timed.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public class SimulationWorld {
+    private static final int PARALLEL_CHUNK_SIZE = 256;//creatures handled by one task in a parallel tick
+    private static final EventType TICK_EVENT_TYPE = EventType.getEventType(SimulationTickEvent.class);
+    public static final double FISH_SPACING = 30, SHARK_SPACING = 50;//closest anything may spawn to a fish or shark
+    private double width;
+    private double height;
+    private final TickMode tickMode;
+    private long seed;
+    private final ArrayList<Fish> fishes = new ArrayList<>();
+    private final ArrayList<Shark> sharks = new ArrayList<>();
+    private final CreatureStore store;
+    private final SpatialGrid fishGrid = new SpatialGrid(50, true);//cells sized to the fish neighbour radius, split by colour
+    private final SpatialGrid sharkGrid = new SpatialGrid(150);//cells sized to the fish shark detection radius
+    private final PhysicsHandler physicsHandler;
+    private final List<SeaCreature> creatures = new ArrayList<>();
+    private final CreaturePool pool = new CreaturePool();
+    private final Set<SeaCreature> pendingChanges = new LinkedHashSet<>();
+    private final List<Fish> eatenFish = new ArrayList<>();//fish eaten this tick, removed together at the end
+    private final List<WorldObserver> observers = new ArrayList<>();
+    private final TickProfiler profiler = TickProfiler.ENABLED ? new TickProfiler() : null;
+    private final long[] eventPhaseNanos = new long[TickProfiler.PHASE_COUNT];//phase totals when only recording events
+    private final List<ChunkTask> chunkTasks = new ArrayList<>();//kept between ticks so a parallel tick allocates nothing
+    private long tick;//ticks completed so far
+    private long nextCreatureId;
+
+    /**
+     * Constructor for a simulation world object with a random seed.
+     *
+     * @param width board width.
+     * @param height board height.
+     * @param tickMode how each tick is worked out.
+     */
+    public SimulationWorld(double width, double height, TickMode tickMode) {
+        this(width, height, tickMode, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructor for a simulation world object.
+     *
+     * @param width board width.
+     * @param height board height.
+     * @param tickMode how each tick is worked out.
+     * @param seed seed every creature's random numbers are made from.
+     */
+    public SimulationWorld(double width, double height, TickMode tickMode, long seed) {
+        this(width, height, tickMode, seed, PhysicsMode.fromSystemProperty());
+    }
+
+    /**
+     * Constructor for a simulation world object with a chosen physics mode.
+     *
+     * @param width board width.
+     * @param height board height.
+     * @param tickMode how each tick is worked out.
+     * @param seed seed every creature's random numbers are made from.
+     * @param physicsMode how the physics update moves the creatures.
+     */
+    public SimulationWorld(double width, double height, TickMode tickMode, long seed, PhysicsMode physicsMode) {
+        this(width, height, tickMode, seed, physicsMode, Precision.fromSystemProperty());
+    }
+
+    /**
+     * Constructor for a simulation world object with a chosen physics mode and precision.
+     *
+     * @param width board width.
+     * @param height board height.
+     * @param tickMode how each tick is worked out.
+     * @param seed seed every creature's random numbers are made from.
+     * @param physicsMode how the physics update moves the creatures.
+     * @param precision how precisely positions and velocities are kept.
+     */
+    public SimulationWorld(double width, double height, TickMode tickMode, long seed, PhysicsMode physicsMode,
+                           Precision precision) {
+        this.width = width;
+        this.height = height;
+        this.tickMode = tickMode;
+        this.seed = seed;
+        this.store = new CreatureStore(precision);
+        this.physicsHandler = new PhysicsHandler(physicsMode);
+    }
+
+    /**
+     * Spawns a creature into the world and begins its movement, reusing one that left the world if there is one.
+     *
+     * @param type creature type.
+     * @param x position.
+     * @param y position.
+     * @param colour fish colour ordinal.
+     * @return new creature.
+     */
+    public SeaCreature spawn(String type, double x, double y, int colour) {
+        SeaCreature creature = pool.poll(type);
+        if (creature == null) {
+            creature = SeaCreature.create(type, this);
+        }
+        creature.place(x, y, colour);
+        creature.id = nextCreatureId++;
+        creature.seedRandom(seed);
+        if (creature instanceof Fish fish) {
+            fishes.add(fish);
+        } else if (creature instanceof Shark shark) {
+            sharks.add(shark);
+        }
+        for (WorldObserver observer : observers) {
+            observer.creatureAdded(creature);
+        }
+        creature.startMoving();
+        return creature;
+    }
+
+    /**
+     * Moves the world on by one tick.
+     * Every creature steers from the same positions, then all of them move together.
+     */
+    public void step() {
+        SimulationTickEvent tickEvent = null;//only made while a recording wants it, as the tick is otherwise garbage free
+        if (TICK_EVENT_TYPE.isEnabled()) {
+            tickEvent = new SimulationTickEvent();
+            tickEvent.begin();
+        }
+        long[] phaseNanos = null;
+        if (TickProfiler.ENABLED) {
+            phaseNanos = profiler.beginTick();
+        } else if (tickEvent != null) {
+            phaseNanos = eventPhaseNanos;
+            Arrays.fill(phaseNanos, 0);
+        }
+        long start = TickProfiler.start(phaseNanos);
+        applyPendingChanges();
+        fishGrid.rebuild(store, CreatureStore.FISH, width, height);
+        if (!sharks.isEmpty()) {
+            sharkGrid.rebuild(store, CreatureStore.SHARK, width, height);
+        }
+        TickProfiler.lap(phaseNanos, Phase.GRID, start);
+        if (tickMode == TickMode.PARALLEL) {
+            parallelStep(phaseNanos);
+        } else {
+            for (int i = 0; i < creatures.size(); i++) {
+                moveEntities(creatures.get(i), phaseNanos);
+            }
+            start = TickProfiler.start(phaseNanos);
+            for (int i = 0; i < creatures.size(); i++) {
+                creatures.get(i).commitTick();//eating in creature order, as in a parallel tick
+            }
+            start = TickProfiler.lap(phaseNanos, Phase.EVADE_PURSUE, start);
+            physicsHandler.physicsUpdate(store);
+            TickProfiler.lap(phaseNanos, Phase.PHYSICS, start);
+        }
+        int eatenCount = eatenFish.size();
+        removeEatenFish();
+        tick++;
+        if (TickProfiler.ENABLED) {
+            profiler.endTick();
+        }
+        if (tickEvent != null && tickEvent.shouldCommit()) {
+            commitTickEvent(tickEvent, phaseNanos, eatenCount);
+        }
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).tickCompleted(this);
+        }
+    }
+
+    /**
+     * Moves the world on by the given number of ticks.
+     *
+     * @param ticks number of ticks.
+     */
+    public void step(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            step();
+        }
+    }
+
+    /**
+     * Works out a tick on every core, steering in parallel from a read only view of the current state.
+     *
+     * @param phaseNanos phase totals for the tick, null when not timing.
+     */
+    private void parallelStep(long[] phaseNanos) {
+        runChunks(creatures.size(), false, phaseNanos);
+        long start = TickProfiler.start(phaseNanos);
+        for (int i = 0; i < creatures.size(); i++) {
+            creatures.get(i).commitTick();//eating in creature order
+        }
+        start = TickProfiler.lap(phaseNanos, Phase.EVADE_PURSUE, start);
+        runChunks(store.size(), true, null);
+        store.swapBuffers();
+        TickProfiler.lap(phaseNanos, Phase.PHYSICS, start);
+    }
+
+    /**
+     * Splits one pass of a parallel tick into chunks and runs them on the common fork join pool.
+     * The calling thread works out the first chunk itself and waits for the rest.
+     *
+     * @param count creatures or store slots to cover.
+     * @param physics true to move the store slots, false to steer the creatures.
+     * @param phaseNanos phase totals for the tick, null when not timing.
+     */
+    private void runChunks(int count, boolean physics, long[] phaseNanos) {
+        int chunks = chunkCount(count);
+        while (chunkTasks.size() < chunks) {
+            chunkTasks.add(new ChunkTask());
+        }
+        for (int chunk = chunks - 1; chunk >= 0; chunk--) {
+            ChunkTask task = chunkTasks.get(chunk);
+            task.reinitialize();
+            task.from = chunk * PARALLEL_CHUNK_SIZE;
+            task.to = Math.min(count, task.from + PARALLEL_CHUNK_SIZE);
+            task.physics = physics;
+            task.phaseNanos = phaseNanos;
+            if (chunk > 0) {
+                task.fork();
+            }
+        }
+        if (chunks > 0) {
+            chunkTasks.get(0).invoke();
+        }
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            chunkTasks.get(chunk).join();
+        }
+    }
+
+    /**
+     * Fills in and commits the flight recorder event for the tick that just finished.
+     *
+     * @param tickEvent event begun at the start of the tick.
+     * @param phaseNanos phase totals for the tick, null if the recording started part way through.
+     * @param eatenCount fish eaten this tick.
+     */
+    private void commitTickEvent(SimulationTickEvent tickEvent, long[] phaseNanos, int eatenCount) {
+        tickEvent.end();
+        tickEvent.tick = tick - 1;//numbered as it was while being worked out, like fish eaten events
+        tickEvent.fishCount = fishes.size();
+        tickEvent.sharkCount = sharks.size();
+        tickEvent.fishEaten = eatenCount;
+        long neighbourPairs = 0;
+        for (Fish fish : fishes) {
+            neighbourPairs += fish.neighbourPairs;
+        }
+        tickEvent.neighbourPairs = neighbourPairs;
+        if (phaseNanos != null) {
+            tickEvent.gridDuration = phaseNanos[Phase.GRID.ordinal()];
+            tickEvent.boundaryDuration = phaseNanos[Phase.BOUNDARY.ordinal()];
+            tickEvent.flockingDuration = phaseNanos[Phase.FLOCKING.ordinal()];
+            tickEvent.evadePursueDuration = phaseNanos[Phase.EVADE_PURSUE.ordinal()];
+            tickEvent.physicsDuration = phaseNanos[Phase.PHYSICS.ordinal()];
+        }
+        tickEvent.commit();
+    }
+
+    /**
+     * Gets how many parallel chunks are needed for a number of creatures.
+     *
+     * @param count creature count.
+     * @return chunk count.
+     */
+    private static int chunkCount(int count) {
+        return (count + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+    }
+
+    /**
+     * Function for basic movement behaviours for all entities.
+     * Only applies forces, creatures move together once every creature has steered.
+     *
+     * @param creature creature entity.
+     */
+    public void moveEntities(SeaCreature creature) {
+        moveEntities(creature, null);
+    }
+
+    /**
+     * Basic movement behaviours for all entities, timing each phase when profiling.
+     *
+     * @param creature creature entity.
+     * @param phaseNanos phase totals being added to, null when not timing.
+     */
+    private void moveEntities(SeaCreature creature, long[] phaseNanos) {
+        long start = TickProfiler.start(phaseNanos);
+        Vector steerForce = creature.checkBoundaries();
+        if (steerForce != null) {
+            physicsHandler.applyForce(creature, steerForce);
+            TickProfiler.lap(phaseNanos, Phase.BOUNDARY, start);
+        } else {
+            start = TickProfiler.lap(phaseNanos, Phase.BOUNDARY, start);
+            if (creature instanceof Fish) {
+                moveFishEntity((Fish) creature, phaseNanos, start);
+            } else if (creature instanceof Shark) {
+                moveSharkEntity((Shark) creature, phaseNanos, start);
+            }
+        }
+    }
+
+    /**
+     * Fish specific movement behaviours.
+     *
+     * @param currentFish fish entity.
+     */
+    public void moveFishEntity(Fish currentFish) {
+        moveFishEntity(currentFish, null, 0);
+    }
+
+    /**
+     * Fish specific movement behaviours, timing each phase when profiling.
+     *
+     * @param currentFish fish entity.
+     * @param phaseNanos phase totals being added to, null when not timing.
+     * @param start time the shark search started.
+     */
+    private void moveFishEntity(Fish currentFish, long[] phaseNanos, long start) {
+        Shark closebyShark = currentFish.getClosebyShark();
+        if (closebyShark != null) {
+            currentFish.evade(closebyShark);
+            TickProfiler.lap(phaseNanos, Phase.EVADE_PURSUE, start);
+        } else {
+            start = TickProfiler.lap(phaseNanos, Phase.EVADE_PURSUE, start);//looking for a shark is part of evading
+            currentFish.wander();
+            currentFish.flockingBehaviour();
+            TickProfiler.lap(phaseNanos, Phase.FLOCKING, start);
+        }
+    }
+
+    /**
+     * Shark specific movement behaviours.
+     *
+     * @param currentShark shark entity.
+     */
+    public void moveSharkEntity(Shark currentShark) {
+        moveSharkEntity(currentShark, null, 0);
+    }
+
+    /**
+     * Shark specific movement behaviours, timing each phase when profiling.
+     *
+     * @param currentShark shark entity.
+     * @param phaseNanos phase totals being added to, null when not timing.
+     * @param start time the target search started.
+     */
+    private void moveSharkEntity(Shark currentShark, long[] phaseNanos, long start) {
+        Fish target = fishes.isEmpty() ? null : currentShark.getTarget();
+        if (target == null) {
+            currentShark.wander();
+        } else {
+            currentShark.pursue(target);
+            currentShark.eatFish(target);
+        }
+        start = TickProfiler.lap(phaseNanos, Phase.EVADE_PURSUE, start);
+        Vector separationForce = currentShark.calculateSeparationForce(sharks);
+        separationForce.multiply(1.2);
+        physicsHandler.applyForce(currentShark, separationForce);
+        TickProfiler.lap(phaseNanos, Phase.FLOCKING, start);
+    }
+
+    /**
+     * Checks the creatures are at a suitable distance from each other.
+     *
+     * @param x position.
+     * @param y position.
+     * @return if at a suitable distance.
+     */
+    public boolean checkEntityDistances(double x, double y) {
+        for (int i = 0; i < store.size(); i++) {
+            SeaCreature creature = store.get(i);
+            if (!creature.moving) {
+                continue;//already on its way out of the world
+            }
+            double minDistance = (creature instanceof Fish) ? FISH_SPACING : SHARK_SPACING;
+            if (DistanceQuery.isWithin(x - creature.getX(), y - creature.getY(), minDistance)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops a fish that has been eaten and queues it to be removed at the end of the tick.
+     *
+     * @param fish eaten fish.
+     * @return if the fish was still in the world.
+     */
+    boolean removeFish(Fish fish) {
+        if (!fish.moving) {
+            return false;//another shark got there first
+        }
+        fish.stopMoving();
+        eatenFish.add(fish);
+        return true;
+    }
+
+    /**
+     * Removes every fish eaten this tick from the fish list in one pass and tells the observers.
+     * Their store slots are freed with the other stopped creatures at the start of the next tick.
+     */
+    private void removeEatenFish() {
+        if (eatenFish.isEmpty()) {
+            return;
+        }
+        int kept = 0;
+        for (int i = 0; i < fishes.size(); i++) {//compacted in place, as removeIf makes a new bit set every call
+            Fish fish = fishes.get(i);
+            if (fish.moving) {
+                fishes.set(kept++, fish);
+            }
+        }
+        while (fishes.size() > kept) {
+            fishes.remove(fishes.size() - 1);
+        }
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).creaturesRemoved(eatenFish);
+        }
+        eatenFish.clear();
+    }
+
+    /**
+     * Stops all creature movements and clears fish and shark lists.
+     */
+    public void clear() {
+        fishes.forEach(SeaCreature::stopMoving);
+        sharks.forEach(SeaCreature::stopMoving);
+        fishes.clear();
+        sharks.clear();
+        for (WorldObserver observer : observers) {
+            observer.worldCleared();
+        }
+    }
+
+    /**
+     * Registers a creature to be moved from the next tick onwards.
+     *
+     * @param creature creature to move.
+     */
+    void register(SeaCreature creature) {
+        creature.moving = true;
+        pendingChanges.add(creature);
+    }
+
+    /**
+     * Unregisters a creature so it is no longer moved and leaves the world from the next tick onwards.
+     *
+     * @param creature creature to stop moving.
+     */
+    void unregister(SeaCreature creature) {
+        creature.moving = false;
+        pendingChanges.add(creature);
+    }
+
+    /**
+     * Applies registrations made since the last tick.
+     * Changes are held back until here so the creature list and store are never changed mid tick.
+     */
+    void applyPendingChanges() {
+        if (pendingChanges.isEmpty()) {
+            return;
+        }
+        boolean anyRemoved = false;
+        for (SeaCreature creature : pendingChanges) {
+            if (creature.moving && !creature.registered) {
+                creatures.add(creature);
+                creature.registered = true;
+            } else if (!creature.moving) {
+                anyRemoved |= creature.registered;
+                creature.registered = false;
+                if (creature.index >= 0) {//stopped creatures leave the world here and wait to be reused
+                    store.remove(creature);
+                    pool.release(creature);
+                }
+            }
+        }
+        if (anyRemoved) {
+            creatures.removeIf(creature -> !creature.registered);
+        }
+        pendingChanges.clear();
+    }
+
+    /**
+     * Adds an observer to be told about creatures coming, going and ticks finishing.
+     *
+     * @param observer observer.
+     */
+    public void addObserver(WorldObserver observer) {
+        observers.add(observer);
+    }
+
+    /**
+     * Removes an observer.
+     *
+     * @param observer observer.
+     */
+    public void removeObserver(WorldObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Sets the board bounds creatures are steered to stay within.
+     *
+     * @param width board width.
+     * @param height board height.
+     */
+    public void setBounds(double width, double height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Gets the board width.
+     *
+     * @return width.
+     */
+    public double getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the board height.
+     *
+     * @return height.
+     */
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets how each tick is worked out.
+     *
+     * @return tick mode.
+     */
+    public TickMode getTickMode() {
+        return tickMode;
+    }
+
+    /**
+     * Gets how precisely the world keeps positions, velocities and accelerations.
+     *
+     * @return precision of the creature store.
+     */
+    public Precision getPrecision() {
+        return store.getPrecision();
+    }
+
+    /**
+     * Gets the physics handler every creature in the world applies forces through.
+     *
+     * @return physics handler.
+     */
+    public PhysicsHandler getPhysicsHandler() {
+        return physicsHandler;
+    }
+
+    /**
+     * Gets the profiler timing each phase of a tick.
+     *
+     * @return tick profiler, null when profiling is off.
+     */
+    public TickProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Gets the number of ticks completed so far.
+     *
+     * @return tick count.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the seed every creature's random numbers are made from.
+     *
+     * @return world seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed, tick count and the id the next spawned creature gets, used when loading a saved world.
+     *
+     * @param seed world seed.
+     * @param tick ticks completed so far.
+     * @param nextCreatureId id for the next spawn.
+     */
+    void setCounters(long seed, long tick, long nextCreatureId) {
+        this.seed = seed;
+        this.tick = tick;
+        this.nextCreatureId = nextCreatureId;
+    }
+
+    /**
+     * Gets the id the next spawned creature will get.
+     *
+     * @return next creature id.
+     */
+    long getNextCreatureId() {
+        return nextCreatureId;
+    }
+
+    /**
+     * Gets the number of creatures being moved this tick.
+     *
+     * @return moving creature count.
+     */
+    public int getCreatureCount() {
+        return creatures.size();
+    }
+
+    /**
+     * Gets the creatures being moved, in the order they are moved.
+     *
+     * @return moving creatures.
+     */
+    List<SeaCreature> getCreatures() {
+        return creatures;
+    }
+
+    /**
+     * Gets a creature being moved this tick, in the order they are moved.
+     *
+     * @param index position in the moving order.
+     * @return creature.
+     */
+    public SeaCreature getCreature(int index) {
+        return creatures.get(index);
+    }
+
+    /**
+     * Gets the fishes in the world.
+     *
+     * @return fishes.
+     */
+    public List<Fish> getFishes() {
+        return fishes;
+    }
+
+    /**
+     * Gets the sharks in the world.
+     *
+     * @return sharks.
+     */
+    public List<Shark> getSharks() {
+        return sharks;
+    }
+
+    /**
+     * Gets the store holding every creature's movement state.
+     *
+     * @return creature store.
+     */
+    public CreatureStore getStore() {
+        return store;
+    }
+
+    /**
+     * Gets the pool of creatures waiting to be spawned again.
+     *
+     * @return creature pool.
+     */
+    public CreaturePool getPool() {
+        return pool;
+    }
+
+    /**
+     * Gets the fish spatial grid, rebuilt at the start of every tick.
+     *
+     * @return fish grid.
+     */
+    public SpatialGrid getFishGrid() {
+        return fishGrid;
+    }
+
+    /**
+     * Gets the shark spatial grid, rebuilt at the start of every tick while there are sharks.
+     *
+     * @return shark grid.
+     */
+    public SpatialGrid getSharkGrid() {
+        return sharkGrid;
+    }
+
+    /**
+     * This is a chunk task class, one chunk of a parallel tick.
+     * The tasks are reused every tick, each with its own phase totals so timing needs no new arrays either.
+     */
+    private final class ChunkTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private final long[] chunkNanos = new long[TickProfiler.PHASE_COUNT];
+        private int from, to;
+        private boolean physics;
+        private long[] phaseNanos;//phase totals for the tick, null when not timing
+
+        /**
+         * Steers or moves every creature in the chunk.
+         */
+        @Override
+        protected void compute() {
+            if (physics) {
+                physicsHandler.physicsUpdateInto(store, from, to);
+                return;
+            }
+            long[] nanos = null;
+            if (phaseNanos != null) {
+                nanos = chunkNanos;
+                Arrays.fill(nanos, 0);
+            }
+            for (int i = from; i < to; i++) {
+                moveEntities(creatures.get(i), nanos);
+            }
+            if (nanos != null) {
+                TickProfiler.merge(phaseNanos, nanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/**
+ * SpatialGrid.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import java.util.Arrays;
+
+/**
+ * This is a spatial grid class, a uniform bucket grid for finding nearby creatures without checking them all.
+ * The board is split into square cells the size of the neighbour radius, so every neighbour of a creature is in
+ * its own cell or one of the cells around it.
+ * ============
+ * Creature store indices are counting sorted by cell into one compact array where each cell is a range of that array.
+ * Positions outside the board are clamped into the edge cells so no creature is ever lost.
+ * The grid is rebuilt once per tick, before any creature moves.
+ * A grid made to split by colour also sorts each cell by colour ordinal, so one colour's creatures in a cell are a
+ * range of their own and the rest of the cell is what comes before and after it.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public class SpatialGrid {
+    private final double cellSize;
+    private final boolean byColour;
+    private int columns = 1;
+    private int rows = 1;
+    private int buckets = 1;//colour buckets per cell
+    private int[] cellStart = new int[2];//start of each bucket in items, with one extra end marker
+    private int[] itemCell = new int[16];
+    private int[] items = new int[16];
+
+    /**
+     * Constructor for a spatial grid object.
+     *
+     * @param cellSize width and height of each cell, normally the neighbour radius.
+     */
+    public SpatialGrid(double cellSize) {
+        this(cellSize, false);
+    }
+
+    /**
+     * Constructor for a spatial grid object that can split each cell by colour.
+     *
+     * @param cellSize width and height of each cell, normally the neighbour radius.
+     * @param byColour if each cell is split into a range per colour ordinal.
+     */
+    public SpatialGrid(double cellSize, boolean byColour) {
+        this.cellSize = cellSize;
+        this.byColour = byColour;
+    }
+
+    /**
+     * Rebuilds the grid from scratch for one species in the store and the board size.
+     *
+     * @param store creature store.
+     * @param species species to bucket.
+     * @param width board width.
+     * @param height board height.
+     */
+    public void rebuild(CreatureStore store, int species, double width, double height) {
+        columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        int size = store.size;
+        int[] colours = store.colour;
+        buckets = 1;
+        if (byColour) {
+            for (int i = 0; i < size; i++) {
+                if (store.species[i] == species) {
+                    buckets = Math.max(buckets, colours[i] + 1);
+                }
+            }
+        }
+        int bucketCount = columns * rows * buckets;
+        if (cellStart.length < bucketCount + 1) {
+            cellStart = new int[bucketCount + 1];
+        } else {
+            Arrays.fill(cellStart, 0, bucketCount + 1, 0);
+        }
+        if (itemCell.length < size) {
+            int capacity = Math.max(size, itemCell.length * 2);
+            items = new int[capacity];
+            itemCell = new int[capacity];
+        }
+        //count how many creatures land in each cell, or each colour of each cell
+        for (int i = 0; i < size; i++) {
+            if (store.species[i] != species) {
+                itemCell[i] = -1;
+                continue;
+            }
+            int bucket = (cellRow(store.getY(i)) * columns + cellColumn(store.getX(i))) * buckets;
+            if (byColour) {
+                bucket += colours[i];
+            }
+            itemCell[i] = bucket;
+            cellStart[bucket + 1]++;
+        }
+        //turn the counts into start offsets
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            cellStart[bucket + 1] += cellStart[bucket];
+        }
+        //place each creature into its range, cellStart is shifted by one bucket while filling
+        for (int i = 0; i < size; i++) {
+            if (itemCell[i] >= 0) {
+                items[cellStart[itemCell[i]]++] = i;
+            }
+        }
+        for (int bucket = bucketCount; bucket > 0; bucket--) {
+            cellStart[bucket] = cellStart[bucket - 1];
+        }
+        cellStart[0] = 0;
+    }
+
+    /**
+     * Gets the column of the cell containing the given x position, clamped to the grid.
+     *
+     * @param x position.
+     * @return cell column.
+     */
+    public int cellColumn(double x) {
+        return clamp((int) Math.floor(x / cellSize), columns);
+    }
+
+    /**
+     * Gets the row of the cell containing the given y position, clamped to the grid.
+     *
+     * @param y position.
+     * @return cell row.
+     */
+    public int cellRow(double y) {
+        return clamp((int) Math.floor(y / cellSize), rows);
+    }
+
+    /**
+     * Gets the index of the first creature in a cell.
+     *
+     * @param column cell column.
+     * @param row cell row.
+     * @return first index in the cell.
+     */
+    public int cellStart(int column, int row) {
+        return cellStart[(row * columns + column) * buckets];
+    }
+
+    /**
+     * Gets the index just past the last creature in a cell.
+     *
+     * @param column cell column.
+     * @param row cell row.
+     * @return end index of the cell.
+     */
+    public int cellEnd(int column, int row) {
+        return cellStart[(row * columns + column + 1) * buckets];
+    }
+
+    /**
+     * Gets the index of the first creature of a colour in a cell, for a grid split by colour.
+     *
+     * @param column cell column.
+     * @param row cell row.
+     * @param colour colour ordinal of a creature in the grid.
+     * @return first index of the colour in the cell.
+     */
+    public int colourStart(int column, int row, int colour) {
+        return cellStart[(row * columns + column) * buckets + colour];
+    }
+
+    /**
+     * Gets the index just past the last creature of a colour in a cell, for a grid split by colour.
+     *
+     * @param column cell column.
+     * @param row cell row.
+     * @param colour colour ordinal of a creature in the grid.
+     * @return end index of the colour in the cell.
+     */
+    public int colourEnd(int column, int row, int colour) {
+        return cellStart[(row * columns + column) * buckets + colour + 1];
+    }
+
+    /**
+     * Gets the store index of the creature at the given grid index, use with the cell start and end ranges.
+     *
+     * @param index grid index.
+     * @return creature store index.
+     */
+    public int get(int index) {
+        return items[index];
+    }
+
+    /**
+     * Finds the closest creature in the grid to a position, searching outwards one ring of cells at a time.
+     * Every creature in ring r is more than r - 1 cells away, so the search stops as soon as the closest creature
+     * found is nearer than the next ring could be, or the rings pass the maximum distance.
+     * Creatures that have stopped moving this tick are skipped.
+     *
+     * @param store creature store the grid was built from.
+     * @param x position.
+     * @param y position.
+     * @param maxDistance only creatures closer than this are found.
+     * @return store index of the closest creature, or -1 if there is none in range.
+     */
+    public int nearest(CreatureStore store, double x, double y, double maxDistance) {
+        SeaCreature[] creatures = store.creatures;
+        int centreColumn = cellColumn(x);
+        int centreRow = cellRow(y);
+        int maxRing = Math.max(columns, rows);
+        int closest = -1;
+        double closestDistanceSq = maxDistance * maxDistance;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            int minRow = Math.max(0, centreRow - ring), maxRow = Math.min(rows - 1, centreRow + ring);
+            for (int row = minRow; row <= maxRow; row++) {
+                //top and bottom rows of the ring are walked in full, the rows between only have the two side cells
+                int step = (row == centreRow - ring || row == centreRow + ring) ? 1 : 2 * ring;
+                for (int column = centreColumn - ring; column <= centreColumn + ring; column += step) {
+                    if (column < 0 || column >= columns) {
+                        continue;
+                    }
+                    int cell = row * columns + column;
+                    for (int i = cellStart[cell * buckets], end = cellStart[(cell + 1) * buckets]; i < end; i++) {
+                        int other = items[i];
+                        double diffX = x - store.getX(other);
+                        double diffY = y - store.getY(other);
+                        double distanceSq = diffX * diffX + diffY * diffY;
+                        if (distanceSq < closestDistanceSq && creatures[other].moving) {
+                            closestDistanceSq = distanceSq;
+                            closest = other;
+                        }
+                    }
+                }
+            }
+            double reach = ring * cellSize;//nothing left to search is this close
+            if (reach >= maxDistance || (closest >= 0 && closestDistanceSq <= reach * reach)) {
+                break;
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Clamps a cell coordinate into the grid.
+     *
+     * @param cell unclamped coordinate.
+     * @param count number of cells along the axis.
+     * @return clamped coordinate.
+     */
+    private static int clamp(int cell, int count) {
+        return cell < 0 ? 0 : Math.min(cell, count - 1);
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * SpawnBatchEvent.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This is a spawn batch event class, a flight recorder event for every group of creatures spawned at once.
+ * The event lasts as long as placing and spawning the creatures took.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+@Name("fishboid.SpawnBatch")
+@Label("Spawn Batch")
+@Category("Fish Boid")
+@Description("A group of creatures spawned together")
+public class SpawnBatchEvent extends jdk.jfr.Event {
+    @Label("Tick")
+    long tick;
+
+    @Label("Creature Type")
+    String type;
+
+    @Label("Requested")
+    int requested;
+
+    @Label("Spawned")
+    int spawned;
+
+    @Label("Region Width")
+    double width;
+
+    @Label("Region Height")
+    double height;
+}
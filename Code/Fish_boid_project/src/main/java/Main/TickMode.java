@@ -0,0 +1,32 @@
+/**
+ * TickMode.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import java.util.Locale;
+
+/**
+ * This is a tick mode class, an enum of the ways the simulation loop can work out a tick.
+ * Chosen at startup with the fishboid.tick system property, for example -Dfishboid.tick=parallel.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public enum TickMode {
+    //every creature steers one after another on the javaFX thread.
+    SEQUENTIAL,
+    //creatures steer at the same time on every core, then shared changes are made in creature order.
+    PARALLEL;
+
+    /**
+     * Gets the tick mode chosen by the fishboid.tick system property, sequential when not set.
+     *
+     * @return tick mode.
+     */
+    public static TickMode fromSystemProperty() {
+        return valueOf(System.getProperty("fishboid.tick", SEQUENTIAL.name()).toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * TickProfiler.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * This is a tick profiler class, timing each phase of a tick so it can be seen where the frame time goes.
+ * Turned on at startup with -Dfishboid.profile=true.
+ * ============
+ * Every phase's time is added up over the whole tick and kept for the most recent ticks, and the
+ * 50th and 99th percentiles are worked out from those when asked for, by the overlay or through JMX.
+ * The view update is timed once per drawn frame rather than per tick.
+ * In a parallel tick the steering phases add up the time spent on every core, so they can be more than the tick took.
+ * The same phase totals are filled in for a flight recording's tick events.
+ * When neither is on there are no totals to fill in and every timing call is a single null check.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public final class TickProfiler {
+    public static final boolean ENABLED = Boolean.getBoolean("fishboid.profile");
+    private static final int WINDOW = 1024;//ticks the percentiles are taken over
+    private static final Phase[] PHASES = Phase.values();//values() copies the array on every call
+    static final int PHASE_COUNT = PHASES.length;
+    private final long[] tickNanos = new long[PHASE_COUNT];//phase totals for the tick being worked out
+    private final long[][] samples = new long[PHASE_COUNT][WINDOW];//ring of the most recent totals per phase
+    private final int[] sampleCounts = new int[PHASE_COUNT];
+
+    /**
+     * The phases of a tick that are timed.
+     */
+    public enum Phase {
+        GRID("Spatial grid"),
+        BOUNDARY("Boundary check"),
+        FLOCKING("Flocking"),
+        EVADE_PURSUE("Evade/pursue"),
+        PHYSICS("Physics update"),
+        VIEW("View update");
+
+        private final String label;
+
+        /**
+         * Constructor for a phase.
+         *
+         * @param label name shown in the overlay.
+         */
+        Phase(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Gets the name shown in the overlay.
+         *
+         * @return label.
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * Gets the time to measure a phase from.
+     *
+     * @param phaseNanos phase totals being added to, null when not timing.
+     * @return current time in nanoseconds, or 0 when not timing.
+     */
+    static long start(long[] phaseNanos) {
+        return phaseNanos != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Adds the time since start to a phase.
+     *
+     * @param phaseNanos phase totals being added to, null when not timing.
+     * @param phase phase that just finished.
+     * @param start time the phase started.
+     * @return current time in nanoseconds for the next phase to start from, or 0 when not timing.
+     */
+    static long lap(long[] phaseNanos, Phase phase, long start) {
+        if (phaseNanos == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - start;
+        return now;
+    }
+
+    /**
+     * Starts timing a new tick.
+     *
+     * @return phase totals for the tick, all zero.
+     */
+    long[] beginTick() {
+        Arrays.fill(tickNanos, 0);
+        return tickNanos;
+    }
+
+    /**
+     * Adds the phase totals worked out on another thread to the tick's totals.
+     *
+     * @param phaseNanos phase totals for the tick.
+     * @param chunkNanos phase totals from one parallel chunk.
+     */
+    static void merge(long[] phaseNanos, long[] chunkNanos) {
+        synchronized (phaseNanos) {
+            for (int phase = 0; phase < PHASE_COUNT; phase++) {
+                phaseNanos[phase] += chunkNanos[phase];
+            }
+        }
+    }
+
+    /**
+     * Keeps the tick's phase totals, every phase but the view update which is recorded per frame.
+     */
+    synchronized void endTick() {
+        for (Phase phase : PHASES) {
+            if (phase != Phase.VIEW) {
+                record(phase, tickNanos[phase.ordinal()]);
+            }
+        }
+    }
+
+    /**
+     * Keeps one time for a phase, pushing out the oldest once the window is full.
+     *
+     * @param phase phase.
+     * @param nanos time taken in nanoseconds.
+     */
+    public synchronized void record(Phase phase, long nanos) {
+        int index = phase.ordinal();
+        samples[index][sampleCounts[index] % WINDOW] = nanos;
+        if (++sampleCounts[index] == 2 * WINDOW) {
+            sampleCounts[index] = WINDOW;//stays full without overflowing
+        }
+    }
+
+    /**
+     * Gets a percentile of the times kept for a phase.
+     *
+     * @param phase phase.
+     * @param percentile percentile from 0 to 100.
+     * @return time in microseconds, 0 if nothing has been kept yet.
+     */
+    public synchronized double getPercentileMicros(Phase phase, double percentile) {
+        int index = phase.ordinal();
+        int count = Math.min(sampleCounts[index], WINDOW);
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples[index], count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count) - 1;
+        return sorted[Math.clamp(rank, 0, count - 1)] / 1000.0;
+    }
+
+    /**
+     * Gets how many times are kept for a phase.
+     *
+     * @param phase phase.
+     * @return sample count.
+     */
+    public synchronized int getSampleCount(Phase phase) {
+        return Math.min(sampleCounts[phase.ordinal()], WINDOW);
+    }
+
+    /**
+     * Gets a table of every phase's 50th and 99th percentiles for the overlay.
+     *
+     * @return one line per phase.
+     */
+    public String summary() {
+        StringBuilder text = new StringBuilder(String.format("%-15s%9s%9s", "Phase (µs)", "p50", "p99"));
+        for (Phase phase : Phase.values()) {
+            text.append(String.format("%n%-15s%9.1f%9.1f", phase.getLabel(),
+                    getPercentileMicros(phase, 50), getPercentileMicros(phase, 99)));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Registers a JMX bean per phase under FishBoid:type=TickProfiler, so the timings can be watched from JConsole.
+     *
+     * @throws JMException if a bean cannot be registered.
+     */
+    public void registerMBeans() throws JMException {
+        for (Phase phase : Phase.values()) {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new PhaseStats(phase),
+                    new ObjectName("FishBoid:type=TickProfiler,phase=" + phase.name()));
+        }
+    }
+
+    /**
+     * One phase's timings as a JMX bean, worked out when read.
+     */
+    private final class PhaseStats implements PhaseStatsMXBean {
+        private final Phase phase;
+
+        /**
+         * Constructor for a phase stats object.
+         *
+         * @param phase phase.
+         */
+        private PhaseStats(Phase phase) {
+            this.phase = phase;
+        }
+
+        @Override
+        public double getP50Micros() {
+            return getPercentileMicros(phase, 50);
+        }
+
+        @Override
+        public double getP99Micros() {
+            return getPercentileMicros(phase, 99);
+        }
+
+        @Override
+        public double getMaxMicros() {
+            return getPercentileMicros(phase, 100);
+        }
+
+        @Override
+        public int getSampleCount() {
+            return TickProfiler.this.getSampleCount(phase);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * TimeWarp.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+/**
+ * This is a time warp class, an enum of how much faster than real time the simulation loop can run.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public enum TimeWarp {
+    //one tick for every 16 ms that passes.
+    X1(1),
+    //four ticks for every 16 ms that passes.
+    X4(4),
+    //sixteen ticks for every 16 ms that passes.
+    X16(16),
+    //as many ticks as fit in each frame.
+    MAX(0);
+
+    private final int speed;
+
+    /**
+     * Constructor for a time warp.
+     *
+     * @param speed ticks per 16 ms, zero for as many as possible.
+     */
+    TimeWarp(int speed) {
+        this.speed = speed;
+    }
+
+    /**
+     * Gets the ticks run for every 16 ms that passes.
+     *
+     * @return speed, zero for as many as possible.
+     */
+    public int getSpeed() {
+        return speed;
+    }
+}
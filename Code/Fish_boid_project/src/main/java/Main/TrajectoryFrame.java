@@ -0,0 +1,96 @@
+/**
+ * TrajectoryFrame.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+/**
+ * This is a trajectory frame class, the recorded position and heading of every fish at the end of one tick.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public class TrajectoryFrame {
+    private final long tick;
+    private final long[] ids;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] headings;
+
+    /**
+     * Constructor for a trajectory frame object.
+     *
+     * @param tick tick the frame was recorded at.
+     * @param ids creature id of each fish.
+     * @param xs x position of each fish.
+     * @param ys y position of each fish.
+     * @param headings heading of each fish in radians, from zero to a full turn.
+     */
+    TrajectoryFrame(long tick, long[] ids, double[] xs, double[] ys, double[] headings) {
+        this.tick = tick;
+        this.ids = ids;
+        this.xs = xs;
+        this.ys = ys;
+        this.headings = headings;
+    }
+
+    /**
+     * Gets the tick the frame was recorded at.
+     *
+     * @return tick.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the number of fish in the frame.
+     *
+     * @return fish count.
+     */
+    public int getCount() {
+        return ids.length;
+    }
+
+    /**
+     * Gets the creature id of a fish.
+     *
+     * @param i fish in the frame.
+     * @return creature id.
+     */
+    public long getId(int i) {
+        return ids[i];
+    }
+
+    /**
+     * Gets the x position of a fish.
+     *
+     * @param i fish in the frame.
+     * @return x position.
+     */
+    public double getX(int i) {
+        return xs[i];
+    }
+
+    /**
+     * Gets the y position of a fish.
+     *
+     * @param i fish in the frame.
+     * @return y position.
+     */
+    public double getY(int i) {
+        return ys[i];
+    }
+
+    /**
+     * Gets the heading of a fish.
+     *
+     * @param i fish in the frame.
+     * @return heading in radians.
+     */
+    public double getHeading(int i) {
+        return headings[i];
+    }
+}
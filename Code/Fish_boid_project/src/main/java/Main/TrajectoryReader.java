@@ -0,0 +1,171 @@
+/**
+ * TrajectoryReader.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * This is a trajectory reader class, reading back ranges of ticks from a file written by TrajectoryRecorder.
+ * The chunk index at the end of the file is read once, then only the chunks covering the wanted ticks are
+ * decompressed.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public class TrajectoryReader implements AutoCloseable {
+    private final FileChannel channel;
+    private final long[] firstTicks;
+    private final long[] lastTicks;
+    private final long[] offsets;
+    private final TrajectoryRecorder.FrameEncoder decoder = new TrajectoryRecorder.FrameEncoder();
+
+    /**
+     * Constructor for a trajectory reader object, reading the header and chunk index.
+     *
+     * @param path recorded file.
+     * @throws IOException if the file cannot be read or was not finished by the recorder.
+     */
+    public TrajectoryReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(0, 8);
+            if (header.getInt() != TrajectoryRecorder.MAGIC || header.getInt() != TrajectoryRecorder.VERSION) {
+                throw new IOException("Not a trajectory recording: " + path);
+            }
+            ByteBuffer footer = read(channel.size() - TrajectoryRecorder.FOOTER_BYTES, TrajectoryRecorder.FOOTER_BYTES);
+            int chunkCount = footer.getInt();
+            long indexOffset = footer.getLong();
+            if (footer.getInt() != TrajectoryRecorder.MAGIC) {
+                throw new IOException("Trajectory recording was not closed: " + path);
+            }
+            ByteBuffer index = read(indexOffset, chunkCount * TrajectoryRecorder.INDEX_ENTRY_BYTES);
+            firstTicks = new long[chunkCount];
+            lastTicks = new long[chunkCount];
+            offsets = new long[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                firstTicks[i] = index.getLong();
+                lastTicks[i] = index.getLong();
+                offsets[i] = index.getLong();
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads every recorded frame from one tick to another.
+     *
+     * @param fromTick first tick wanted.
+     * @param toTick last tick wanted.
+     * @return frames in tick order.
+     * @throws IOException if a chunk cannot be read.
+     */
+    public List<TrajectoryFrame> readFrames(long fromTick, long toTick) throws IOException {
+        List<TrajectoryFrame> frames = new ArrayList<>();
+        for (int chunk = 0; chunk < offsets.length; chunk++) {
+            if (lastTicks[chunk] < fromTick || firstTicks[chunk] > toTick) {
+                continue;
+            }
+            ByteBuffer frameBytes = readChunk(chunk);
+            decoder.startChunk();
+            while (frameBytes.hasRemaining()) {
+                TrajectoryFrame frame = decoder.decodeFrame(frameBytes);
+                if (frame.getTick() > toTick) {
+                    break;
+                }
+                if (frame.getTick() >= fromTick) {
+                    frames.add(frame);
+                }
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * Gets the first recorded tick.
+     *
+     * @return first tick, or -1 if nothing was recorded.
+     */
+    public long getFirstTick() {
+        return firstTicks.length == 0 ? -1 : firstTicks[0];
+    }
+
+    /**
+     * Gets the last recorded tick.
+     *
+     * @return last tick, or -1 if nothing was recorded.
+     */
+    public long getLastTick() {
+        return lastTicks.length == 0 ? -1 : lastTicks[lastTicks.length - 1];
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads and decompresses one chunk.
+     *
+     * @param chunk chunk number.
+     * @return encoded frames.
+     * @throws IOException if the chunk cannot be read or is damaged.
+     */
+    private ByteBuffer readChunk(int chunk) throws IOException {
+        ByteBuffer chunkHeader = read(offsets[chunk], TrajectoryRecorder.CHUNK_HEADER_BYTES);
+        int rawLength = chunkHeader.getInt();
+        int compressedLength = chunkHeader.getInt();
+        ByteBuffer compressed = read(offsets[chunk] + TrajectoryRecorder.CHUNK_HEADER_BYTES, compressedLength);
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                length += inflater.inflate(raw, length, rawLength - length);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Damaged trajectory chunk " + chunk, e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    /**
+     * Reads bytes from a position in the file.
+     *
+     * @param position file position.
+     * @param length number of bytes.
+     * @return little endian buffer of the bytes.
+     * @throws IOException if the file is too short.
+     */
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Trajectory recording is cut short");
+            }
+        }
+        return buffer.flip();
+    }
+}
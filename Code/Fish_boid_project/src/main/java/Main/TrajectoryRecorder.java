@@ -0,0 +1,477 @@
+/**
+ * TrajectoryRecorder.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * This is a trajectory recorder class, streaming the position and heading of every fish to a file each tick.
+ * ============
+ * Positions are stored in sixteenths of a pixel and headings in 4096ths of a turn.
+ * Frames are grouped into chunks of a fixed number of ticks, the first frame of a chunk holds whole values and
+ * later frames only the change since the fish's value in the frame before, so each chunk can be read on its own.
+ * The last values are kept in a table of the fish seen in the chunk, emptied with each new chunk, so it grows with
+ * the number of fish alive rather than with every id ever given out.
+ * A finished chunk is handed to a background thread which compresses it and appends it to the file,
+ * so the tick only pays for encoding the frame.
+ * Closing writes an index of the ticks in each chunk and where it starts, which TrajectoryReader uses to read any
+ * range of ticks without decoding the rest of the file.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public class TrajectoryRecorder implements WorldObserver, AutoCloseable {
+    static final int MAGIC = 0x46425452;//"FBTR"
+    static final int VERSION = 1;
+    static final int POSITION_SCALE = 16;//steps per pixel
+    static final int HEADING_STEPS = 4096;//steps per turn
+    static final int CHUNK_HEADER_BYTES = 8;//raw length and compressed length
+    static final int INDEX_ENTRY_BYTES = 24;//first tick, last tick and file offset
+    static final int FOOTER_BYTES = 16;//chunk count, index offset and magic
+    public static final int DEFAULT_FRAMES_PER_CHUNK = 64;
+    private final int framesPerChunk;
+    private final FileChannel channel;
+    private final ExecutorService compressor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "trajectory-compressor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    //written by the compressor thread only
+    private final List<long[]> chunkIndex = new ArrayList<>();
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private long filePosition;
+    private volatile IOException writeFailure;
+    //chunk being filled by the tick
+    private final FrameEncoder encoder = new FrameEncoder();
+    private long chunkFirstTick;
+    private long chunkLastTick;
+    private boolean closed;
+
+    /**
+     * Constructor for a trajectory recorder object, creating the file and writing its header.
+     *
+     * @param path file to record into.
+     * @param framesPerChunk ticks in each chunk.
+     * @throws IOException if the file cannot be created.
+     */
+    public TrajectoryRecorder(Path path, int framesPerChunk) throws IOException {
+        this.framesPerChunk = framesPerChunk;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(20).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(framesPerChunk).putInt(POSITION_SCALE).putInt(HEADING_STEPS);
+        header.flip();
+        writeFully(header);
+    }
+
+    /**
+     * Nothing to record until the tick is over.
+     *
+     * @param creature new creature.
+     */
+    @Override
+    public void creatureAdded(SeaCreature creature) {
+    }
+
+    /**
+     * Nothing to record, the fish is simply missing from the next frame.
+     *
+     * @param creature removed creature.
+     */
+    @Override
+    public void creatureRemoved(SeaCreature creature) {
+    }
+
+    /**
+     * Appends a frame of every fish once the tick has moved them.
+     *
+     * @param world world that ticked.
+     */
+    @Override
+    public void tickCompleted(SimulationWorld world) {
+        if (closed) {
+            return;
+        }
+        if (encoder.frameCount == 0) {
+            chunkFirstTick = world.getTick();
+        }
+        chunkLastTick = world.getTick();
+        encoder.encodeFrame(world);
+        if (encoder.frameCount == framesPerChunk) {
+            flushChunk();
+        }
+    }
+
+    /**
+     * Writes the last part filled chunk and the index, then closes the file.
+     *
+     * @throws IOException if any chunk could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flushChunk();
+        compressor.shutdown();
+        try {
+            compressor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try (channel) {
+            if (writeFailure != null) {
+                throw writeFailure;
+            }
+            ByteBuffer index = ByteBuffer.allocate(chunkIndex.size() * INDEX_ENTRY_BYTES + FOOTER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            for (long[] entry : chunkIndex) {
+                index.putLong(entry[0]).putLong(entry[1]).putLong(entry[2]);
+            }
+            index.putInt(chunkIndex.size()).putLong(filePosition).putInt(MAGIC);
+            index.flip();
+            writeFully(index);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Hands the filled chunk to the compressor thread and starts a new one.
+     */
+    private void flushChunk() {
+        if (encoder.frameCount == 0) {
+            return;
+        }
+        byte[] raw = Arrays.copyOf(encoder.bytes, encoder.length);
+        long firstTick = chunkFirstTick, lastTick = chunkLastTick;
+        encoder.startChunk();
+        compressor.execute(() -> writeChunk(raw, firstTick, lastTick));
+    }
+
+    /**
+     * Compresses a chunk and appends it to the file, run on the compressor thread.
+     *
+     * @param raw encoded frames.
+     * @param firstTick tick of the first frame.
+     * @param lastTick tick of the last frame.
+     */
+    private void writeChunk(byte[] raw, long firstTick, long lastTick) {
+        if (writeFailure != null) {
+            return;
+        }
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        byte[] compressed = new byte[raw.length / 2 + 64];
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_HEADER_BYTES + compressedLength).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(raw.length).putInt(compressedLength).put(compressed, 0, compressedLength);
+        buffer.flip();
+        try {
+            long offset = filePosition;
+            writeFully(buffer);
+            chunkIndex.add(new long[]{firstTick, lastTick, offset});
+        } catch (IOException e) {
+            writeFailure = e;
+        }
+    }
+
+    /**
+     * Writes a whole buffer at the end of the file.
+     *
+     * @param buffer bytes to write.
+     * @throws IOException if the write fails.
+     */
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            filePosition += channel.write(buffer);
+        }
+    }
+
+    /**
+     * Encodes frames into a growing byte array, keeping each fish's last values to write changes against.
+     * Also used by the reader to decode, so both always agree on the format.
+     */
+    static final class FrameEncoder {
+        byte[] bytes = new byte[1 << 16];
+        int length;
+        int frameCount;
+        //last quantised values of each fish seen this chunk and the frame it was last seen in, zero for an empty entry,
+        //in an open addressing table keyed by creature id
+        private long[] tableId = new long[1024];
+        private int[] lastX = new int[1024];
+        private int[] lastY = new int[1024];
+        private int[] lastHeading = new int[1024];
+        private int[] lastSeen = new int[1024];
+        private int tableCount;
+
+        /**
+         * Empties the chunk, the next frame is written with whole values.
+         */
+        void startChunk() {
+            length = 0;
+            frameCount = 0;
+            Arrays.fill(lastSeen, 0);
+            tableCount = 0;
+        }
+
+        /**
+         * Appends the frame of every fish in the world.
+         *
+         * @param world world to record.
+         */
+        private void encodeFrame(SimulationWorld world) {
+            CreatureStore store = world.getStore();
+            int frame = ++frameCount;//frames count from one so an unseen fish is zero
+            int count = 0;
+            for (int i = 0; i < store.size; i++) {
+                if (store.species[i] == CreatureStore.FISH && store.creatures[i].moving) {
+                    count++;
+                }
+            }
+            writeLong(world.getTick());
+            writeInt(count);
+            long previousId = 0;
+            for (int i = 0; i < store.size; i++) {
+                SeaCreature creature = store.creatures[i];
+                if (store.species[i] != CreatureStore.FISH || !creature.moving) {
+                    continue;
+                }
+                long id = creature.id;
+                writeLong(zigzag(id - previousId));
+                previousId = id;
+                int x = (int) Math.round(store.getX(i) * POSITION_SCALE);
+                int y = (int) Math.round(store.getY(i) * POSITION_SCALE);
+                int heading = quantiseHeading(Math.atan2(store.getVelocityY(i), store.getVelocityX(i)));
+                int slot = slot(id);
+                if (lastSeen[slot] == frame - 1 && frame > 1) {
+                    writeInt(zigzag(x - lastX[slot]));
+                    writeInt(zigzag(y - lastY[slot]));
+                    writeInt(zigzag(wrapHeading(heading - lastHeading[slot])));
+                } else {
+                    writeInt(zigzag(x));
+                    writeInt(zigzag(y));
+                    writeInt(heading);
+                }
+                lastX[slot] = x;
+                lastY[slot] = y;
+                lastHeading[slot] = heading;
+                lastSeen[slot] = frame;
+            }
+        }
+
+        /**
+         * Reads one frame from a decoded chunk.
+         *
+         * @param buffer chunk bytes, positioned at the frame.
+         * @return frame.
+         */
+        TrajectoryFrame decodeFrame(ByteBuffer buffer) {
+            int frame = ++frameCount;
+            long tick = readLong(buffer);
+            int count = (int) readLong(buffer);
+            long[] ids = new long[count];
+            double[] xs = new double[count], ys = new double[count], headings = new double[count];
+            long id = 0;
+            for (int i = 0; i < count; i++) {
+                id += unzigzag(readLong(buffer));
+                int slot = slot(id);
+                int x, y, heading;
+                if (lastSeen[slot] == frame - 1 && frame > 1) {
+                    x = lastX[slot] + (int) unzigzag(readLong(buffer));
+                    y = lastY[slot] + (int) unzigzag(readLong(buffer));
+                    heading = (lastHeading[slot] + (int) unzigzag(readLong(buffer))) & (HEADING_STEPS - 1);
+                } else {
+                    x = (int) unzigzag(readLong(buffer));
+                    y = (int) unzigzag(readLong(buffer));
+                    heading = (int) readLong(buffer);
+                }
+                lastX[slot] = x;
+                lastY[slot] = y;
+                lastHeading[slot] = heading;
+                lastSeen[slot] = frame;
+                ids[i] = id;
+                xs[i] = (double) x / POSITION_SCALE;
+                ys[i] = (double) y / POSITION_SCALE;
+                headings[i] = heading * 2 * Math.PI / HEADING_STEPS;
+            }
+            return new TrajectoryFrame(tick, ids, xs, ys, headings);
+        }
+
+        /**
+         * Gets the table entry holding a creature's last values, taking an empty one the first time it is seen in the
+         * chunk and doubling the table once it is half full.
+         *
+         * @param id creature id.
+         * @return table entry.
+         */
+        private int slot(long id) {
+            int slot = find(id);
+            if (lastSeen[slot] == 0) {
+                if ((tableCount + 1) * 2 > tableId.length) {
+                    growTable();
+                    slot = find(id);
+                }
+                tableId[slot] = id;
+                tableCount++;
+            }
+            return slot;
+        }
+
+        /**
+         * Finds a creature's table entry, or the empty entry it would go in.
+         *
+         * @param id creature id.
+         * @return table entry.
+         */
+        private int find(long id) {
+            int mask = tableId.length - 1;
+            int slot = (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;//spreads consecutive ids over the table
+            while (lastSeen[slot] != 0 && tableId[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * Doubles the table, putting every entry seen this chunk back in.
+         */
+        private void growTable() {
+            long[] oldId = tableId;
+            int[] oldX = lastX, oldY = lastY, oldHeading = lastHeading, oldSeen = lastSeen;
+            int capacity = oldId.length * 2;
+            tableId = new long[capacity];
+            lastX = new int[capacity];
+            lastY = new int[capacity];
+            lastHeading = new int[capacity];
+            lastSeen = new int[capacity];
+            for (int old = 0; old < oldId.length; old++) {
+                if (oldSeen[old] != 0) {
+                    int slot = find(oldId[old]);
+                    tableId[slot] = oldId[old];
+                    lastX[slot] = oldX[old];
+                    lastY[slot] = oldY[old];
+                    lastHeading[slot] = oldHeading[old];
+                    lastSeen[slot] = oldSeen[old];
+                }
+            }
+        }
+
+        /**
+         * Turns an angle in radians into steps of a turn.
+         *
+         * @param angle angle.
+         * @return heading steps.
+         */
+        private static int quantiseHeading(double angle) {
+            return (int) Math.round(angle / (2 * Math.PI) * HEADING_STEPS) & (HEADING_STEPS - 1);
+        }
+
+        /**
+         * Wraps a change in heading steps to the shortest way round.
+         *
+         * @param change heading change.
+         * @return change between minus and plus half a turn.
+         */
+        private static int wrapHeading(int change) {
+            return ((change + HEADING_STEPS / 2) & (HEADING_STEPS - 1)) - HEADING_STEPS / 2;
+        }
+
+        /**
+         * Writes a non negative number seven bits at a time.
+         *
+         * @param value value.
+         */
+        private void writeInt(int value) {
+            writeLong(value & 0xFFFFFFFFL);
+        }
+
+        /**
+         * Writes a non negative number seven bits at a time.
+         *
+         * @param value value.
+         */
+        private void writeLong(long value) {
+            if (length + 10 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        /**
+         * Reads a number written seven bits at a time.
+         *
+         * @param buffer buffer to read from.
+         * @return value.
+         */
+        private static long readLong(ByteBuffer buffer) {
+            long value = 0;
+            int shift = 0;
+            byte next;
+            do {
+                next = buffer.get();
+                value |= (long) (next & 0x7F) << shift;
+                shift += 7;
+            } while (next < 0);
+            return value;
+        }
+
+        /**
+         * Maps small negative and positive numbers to small positive ones.
+         *
+         * @param value value.
+         * @return zigzag value.
+         */
+        private static int zigzag(int value) {
+            return (value << 1) ^ (value >> 31);
+        }
+
+        /**
+         * Maps small negative and positive numbers to small positive ones.
+         *
+         * @param value value.
+         * @return zigzag value.
+         */
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+
+        /**
+         * Undoes the zigzag mapping.
+         *
+         * @param value zigzag value.
+         * @return value.
+         */
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
@@ -38,6 +38,30 @@ public class Vector {
         this.y = y;
     }
 
+    /**
+     * Sets this vector to the given x and y before returning it.
+     * Lets a vector be reused as scratch space instead of creating a new one.
+     *
+     * @param x new x.
+     * @param y new y.
+     * @return this vector.
+     */
+    public Vector set(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * Sets this vector to a copy of the given vector before returning it.
+     *
+     * @param otherVector vector to copy.
+     * @return this vector.
+     */
+    public Vector set(Vector otherVector) {
+        return set(otherVector.x, otherVector.y);
+    }
+
     /**
      * This method adds a given vector to this vector before returning it.
      * Adding vectors combines the movements end to end where this vector changes in response to given vector
@@ -53,6 +77,19 @@ public class Vector {
         return this;
     }
 
+    /**
+     * This method adds a given x and y to this vector before returning it.
+     *
+     * @param addingX x being added.
+     * @param addingY y being added.
+     * @return result of addition.
+     */
+    public Vector add(double addingX, double addingY) {
+        this.x += addingX;
+        this.y += addingY;
+        return this;
+    }
+
     /**
      * This method subtracts a given vector from this vector before returning it.
      * Can find a position of this vector with a relative starting position from the vector given
@@ -68,6 +105,19 @@ public class Vector {
         return this;
     }
 
+    /**
+     * This method subtracts a given x and y from this vector before returning it.
+     *
+     * @param subtractingX x being subtracted.
+     * @param subtractingY y being subtracted.
+     * @return result of subtraction.
+     */
+    public Vector subtract(double subtractingX, double subtractingY) {
+        this.x -= subtractingX;
+        this.y -= subtractingY;
+        return this;
+    }
+
     /**
      * This method multiplies this vector by the given number essentially scaling it larger or smaller.
      * Any number given less than 1 shrinks the vector by the given scale and vice versa setting the magnitude.
@@ -145,6 +195,30 @@ public class Vector {
         return Math.sqrt(x * x + y * y);//returns x squared + y squared
     }
 
+    /**
+     * The squared distance from this vector to the given point.
+     * Cheaper than the distance as there is no square root, fine for comparing against a squared radius.
+     *
+     * @param otherX x of the other point.
+     * @param otherY y of the other point.
+     * @return squared distance.
+     */
+    public double distanceSq(double otherX, double otherY) {
+        double diffX = x - otherX;
+        double diffY = y - otherY;
+        return diffX * diffX + diffY * diffY;
+    }
+
+    /**
+     * The distance from this vector to the given vector, the same as the magnitude of their difference.
+     *
+     * @param otherVector other vector.
+     * @return distance.
+     */
+    public double distance(Vector otherVector) {
+        return Math.sqrt(distanceSq(otherVector.x, otherVector.y));
+    }
+
     /**
      * Gets the angle from a starting direction based on the x and y
      *
@@ -0,0 +1,58 @@
+/**
+ * WorldObserver.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import java.util.List;
+
+/**
+ * This is a world observer interface, for anything that wants to follow what happens in a simulation world.
+ * The javaFX board is one, a headless run needs none.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public interface WorldObserver {
+    /**
+     * Called when a creature has been spawned into the world.
+     *
+     * @param creature new creature.
+     */
+    void creatureAdded(SeaCreature creature);
+
+    /**
+     * Called when a creature has been removed from the world, such as a fish being eaten.
+     *
+     * @param creature removed creature.
+     */
+    void creatureRemoved(SeaCreature creature);
+
+    /**
+     * Called once at the end of a tick with every creature removed during it, such as all the fish eaten.
+     * Passes each creature on to creatureRemoved unless overridden to handle them together.
+     *
+     * @param creatures removed creatures.
+     */
+    default void creaturesRemoved(List<? extends SeaCreature> creatures) {
+        for (SeaCreature creature : creatures) {
+            creatureRemoved(creature);
+        }
+    }
+
+    /**
+     * Called when every creature has been cleared from the world.
+     */
+    default void worldCleared() {
+    }
+
+    /**
+     * Called at the end of every tick once all creatures have moved.
+     *
+     * @param world world that ticked.
+     */
+    default void tickCompleted(SimulationWorld world) {
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * WorldSnapshot.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * This is a world snapshot class, saving and loading the whole state of a simulation world as a binary file.
+ * ============
+ * The file is a header with the board size, world seed and tick count, one fixed size record per creature in store order,
+ * then the order creatures are moved in and the order of the fish and shark lists as store indices.
+ * Keeping every order means a loaded world adds up forces in exactly the same order as the saved one,
+ * so it carries on exactly as the saved world would have.
+ * Loading empties the store first and spawns the creatures in store order, so each one lands back in its saved slot,
+ * which the saved list orders rely on.
+ * Movement state is written as doubles in either precision, which hold a float value exactly, so a float world
+ * loads back unchanged.
+ * Saving writes one buffer through a file channel and loading reads straight from a memory mapped file.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public final class WorldSnapshot {
+    private static final int MAGIC = 0x46425753;//"FBWS"
+    private static final int VERSION = 3;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8 + 8 + 8 + 4;
+    //species, colour, id, position, velocity, acceleration, wander and random state
+    private static final int CREATURE_BYTES = 1 + 1 + 8 + 7 * 8 + 8;
+
+    /**
+     * Not to be constructed, only static save and load.
+     */
+    private WorldSnapshot() {
+    }
+
+    /**
+     * Saves the world between ticks.
+     * Changes waiting for the next tick are applied first, as the next tick would.
+     *
+     * @param world world to save.
+     * @param path file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void save(SimulationWorld world, Path path) throws IOException {
+        ByteBuffer buffer = save(world, true);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Saves the world between ticks into a buffer, such as for a checkpoint kept in memory.
+     * Changes waiting for the next tick are applied first, as the next tick would.
+     *
+     * @param world world to save.
+     * @param direct if the buffer should be outside the java heap, for writing to a file.
+     * @return buffer ready to be read.
+     */
+    public static ByteBuffer save(SimulationWorld world, boolean direct) {
+        world.applyPendingChanges();
+        CreatureStore store = world.getStore();
+        List<SeaCreature> creatures = world.getCreatures();
+        List<Fish> fishes = world.getFishes();
+        List<Shark> sharks = world.getSharks();
+        int size = store.size();
+        int bytes = HEADER_BYTES + size * CREATURE_BYTES + 12 + 4 * (creatures.size() + fishes.size() + sharks.size());
+        ByteBuffer buffer = (direct ? ByteBuffer.allocateDirect(bytes) : ByteBuffer.allocate(bytes))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION);
+        buffer.putDouble(world.getWidth()).putDouble(world.getHeight());
+        buffer.putLong(world.getSeed()).putLong(world.getTick()).putLong(world.getNextCreatureId());
+        buffer.putInt(size);
+        for (int i = 0; i < size; i++) {
+            buffer.put((byte) store.species[i]).put((byte) store.colour[i]);
+            buffer.putLong(store.creatures[i].id);
+            buffer.putDouble(store.getX(i)).putDouble(store.getY(i));
+            buffer.putDouble(store.getVelocityX(i)).putDouble(store.getVelocityY(i));
+            buffer.putDouble(store.getAccelerationX(i)).putDouble(store.getAccelerationY(i));
+            buffer.putDouble(store.creatures[i].wanderTheta);
+            buffer.putLong(store.creatures[i].randomState);
+        }
+        putOrder(buffer, creatures);
+        putOrder(buffer, fishes);
+        putOrder(buffer, sharks);
+        return buffer.flip();
+    }
+
+    /**
+     * Replaces every creature in the world with the ones in a saved file.
+     *
+     * @param world world to load into.
+     * @param path file to read.
+     * @throws IOException if the file cannot be read or is not a snapshot.
+     */
+    public static void load(SimulationWorld world, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            load(world, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new IOException(e.getMessage() + ": " + path, e);
+        }
+    }
+
+    /**
+     * Replaces every creature in the world with the ones in a saved buffer.
+     * The buffer is read from its current position without moving it, so the same snapshot can be loaded again.
+     *
+     * @param world world to load into.
+     * @param snapshot saved world.
+     * @throws IOException if the buffer is not a snapshot.
+     * @throws IllegalStateException if a creature does not land back in its saved store slot.
+     */
+    public static void load(SimulationWorld world, ByteBuffer snapshot) throws IOException {
+        ByteBuffer buffer = snapshot.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a world snapshot");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        world.clear();
+        world.applyPendingChanges();//empties the store so creatures get back their saved indices
+        world.setBounds(buffer.getDouble(), buffer.getDouble());
+        long seed = buffer.getLong(), tick = buffer.getLong(), nextCreatureId = buffer.getLong();
+        CreatureStore store = world.getStore();
+        int size = buffer.getInt();
+        for (int i = 0; i < size; i++) {
+            int species = buffer.get();
+            int colour = buffer.get();
+            long id = buffer.getLong();
+            double x = buffer.getDouble(), y = buffer.getDouble();
+            SeaCreature creature = world.spawn(species == CreatureStore.SHARK ? "shark" : "fish", x, y, colour);
+            if (creature.index != i) {
+                throw new IllegalStateException("Creature " + id + " loaded into store index " + creature.index
+                        + " instead of " + i);
+            }
+            creature.id = id;
+            store.setVelocity(i, buffer.getDouble(), buffer.getDouble());
+            store.setAcceleration(i, buffer.getDouble(), buffer.getDouble());
+            creature.wanderTheta = buffer.getDouble();
+            creature.randomState = buffer.getLong();
+        }
+        world.setCounters(seed, tick, nextCreatureId);
+        world.applyPendingChanges();
+        getOrder(buffer, store, world.getCreatures());
+        getOrder(buffer, store, world.getFishes());
+        getOrder(buffer, store, world.getSharks());
+    }
+
+    /**
+     * Writes the store index of every creature in a list.
+     *
+     * @param buffer buffer to write to.
+     * @param list creatures in order.
+     */
+    private static void putOrder(ByteBuffer buffer, List<? extends SeaCreature> list) {
+        buffer.putInt(list.size());
+        for (SeaCreature creature : list) {
+            buffer.putInt(creature.index);
+        }
+    }
+
+    /**
+     * Refills a list with the creatures at the saved store indices.
+     *
+     * @param buffer buffer to read from.
+     * @param store creature store.
+     * @param list list to refill.
+     * @param <T> creature type of the list.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends SeaCreature> void getOrder(ByteBuffer buffer, CreatureStore store, List<T> list) {
+        list.clear();
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            list.add((T) store.get(buffer.getInt()));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * BoardRenderer.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package UI;
+
+import Main.FrameRenderer;
+import Main.WorldObserver;
+import javafx.scene.layout.Pane;
+
+/**
+ * This is a board renderer class, a blueprint for the ways creatures can be drawn onto the simulation board.
+ * Abstract as it is either drawn with scene graph nodes or onto a canvas.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public abstract class BoardRenderer implements FrameRenderer, WorldObserver {
+    //visible to class and subclasses.
+    protected final Pane simulationBoard;
+
+    /**
+     * Constructor for a board renderer object.
+     *
+     * @param simulationBoard board to draw onto.
+     */
+    protected BoardRenderer(Pane simulationBoard) {
+        this.simulationBoard = simulationBoard;
+    }
+}
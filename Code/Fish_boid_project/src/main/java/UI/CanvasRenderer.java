@@ -0,0 +1,129 @@
+/**
+ * CanvasRenderer.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package UI;
+
+import Main.SeaCreature;
+import Main.Shark;
+import Main.SimulationWorld;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * This is a canvas renderer class, drawing every creature in one pass onto a single canvas over the board.
+ * Each fish colour and the shark are drawn once into a sprite image at startup, so a frame is just one transformed
+ * image copy per creature with no scene graph nodes to lay out.
+ * ============
+ * Sprites are turned about the same point as the scene graph views, the centre of the shape's bounds,
+ * so both renderers look the same.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public class CanvasRenderer extends BoardRenderer {
+    private final Canvas canvas = new Canvas();
+    private final Sprite[] fishSprites = new Sprite[Colour.values().length];
+    private final Sprite sharkSprite;
+
+    /**
+     * Constructor for a canvas renderer object.
+     *
+     * @param simulationBoard board to draw onto.
+     */
+    public CanvasRenderer(Pane simulationBoard) {
+        super(simulationBoard);
+        for (Colour colour : Colour.values()) {
+            fishSprites[colour.ordinal()] = new Sprite(new FishUiController(colour).getView());
+        }
+        sharkSprite = new Sprite(new SharkUiController().getView());
+        canvas.widthProperty().bind(simulationBoard.widthProperty());
+        canvas.heightProperty().bind(simulationBoard.heightProperty());
+        canvas.setMouseTransparent(true);//clicks go through to the board
+        simulationBoard.getChildren().add(canvas);
+    }
+
+    /**
+     * Draws every creature onto the canvas.
+     *
+     * @param world world to draw.
+     */
+    @Override
+    public void renderFrame(SimulationWorld world) {
+        GraphicsContext graphics = canvas.getGraphicsContext2D();
+        graphics.setTransform(1, 0, 0, 1, 0, 0);
+        graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        for (int i = 0; i < world.getCreatureCount(); i++) {
+            SeaCreature creature = world.getCreature(i);
+            if (!creature.isMoving()) {
+                continue;//eaten this tick, leaves the world next tick
+            }
+            Sprite sprite = creature instanceof Shark ? sharkSprite : fishSprites[creature.getColour()];
+            double heading = creature.getHeading();
+            double cos = Math.cos(heading), sin = Math.sin(heading);
+            //rotate about the pivot then draw the sprite relative to it
+            graphics.setTransform(cos, sin, -sin, cos, creature.getX() + sprite.pivotX, creature.getY() + sprite.pivotY);
+            graphics.drawImage(sprite.image, sprite.offsetX, sprite.offsetY);
+        }
+        graphics.setTransform(1, 0, 0, 1, 0, 0);
+    }
+
+    /**
+     * Nothing to add, every creature is drawn straight from the world.
+     *
+     * @param creature new creature.
+     */
+    @Override
+    public void creatureAdded(SeaCreature creature) {
+    }
+
+    /**
+     * Nothing to remove, the creature is simply not drawn next frame.
+     *
+     * @param creature removed creature.
+     */
+    @Override
+    public void creatureRemoved(SeaCreature creature) {
+    }
+
+    /**
+     * Clears the canvas straight away rather than waiting for the next tick.
+     */
+    @Override
+    public void worldCleared() {
+        canvas.getGraphicsContext2D().clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+
+    /**
+     * A pre drawn creature image and where to draw it from.
+     */
+    private static final class Sprite {
+        private final Image image;
+        private final double pivotX, pivotY;//centre of the shape, what the scene graph view rotates about
+        private final double offsetX, offsetY;//top left of the image relative to the pivot
+
+        /**
+         * Draws the given view into an image.
+         *
+         * @param view creature view.
+         */
+        private Sprite(Node view) {
+            SnapshotParameters parameters = new SnapshotParameters();
+            parameters.setFill(Color.TRANSPARENT);
+            this.image = view.snapshot(parameters, null);
+            Bounds bounds = view.getLayoutBounds();
+            this.pivotX = (bounds.getMinX() + bounds.getMaxX()) / 2;
+            this.pivotY = (bounds.getMinY() + bounds.getMaxY()) / 2;
+            this.offsetX = bounds.getMinX() - pivotX;
+            this.offsetY = bounds.getMinY() - pivotY;
+        }
+    }
+}
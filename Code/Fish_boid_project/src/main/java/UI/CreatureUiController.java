@@ -6,6 +6,7 @@
  */
 package UI;
 
+import Main.CreatureView;
 import javafx.scene.Group;
 import javafx.scene.Node;
 
@@ -16,7 +17,7 @@ import javafx.scene.Node;
  * @author Jacob Broomfield
  * @version 1.0
  */
-public abstract class CreatureUiController {
+public abstract class CreatureUiController implements CreatureView {
     //visible to class and subclasses.
     protected Group view;
 
@@ -34,6 +35,7 @@ public abstract class CreatureUiController {
      * @param x cord for new UI position.
      * @param y cord for new UI position.
      */
+    @Override
     public void setPosition(double x, double y) {
         view.setTranslateX(x);
         view.setTranslateY(y);
@@ -44,6 +46,7 @@ public abstract class CreatureUiController {
      *
      * @param angle of rotation.
      */
+    @Override
     public void setRotation(double angle) {
         view.setRotate(angle);
     }
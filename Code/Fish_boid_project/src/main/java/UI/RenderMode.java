@@ -0,0 +1,47 @@
+/**
+ * RenderMode.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package UI;
+
+import javafx.scene.layout.Pane;
+import java.util.Locale;
+
+/**
+ * This is a render mode class, an enum of the ways the board can be drawn.
+ * Chosen at startup with the fishboid.renderer system property, for example -Dfishboid.renderer=canvas.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public enum RenderMode {
+    //every creature is its own group of shapes on the board.
+    SCENE_GRAPH,
+    //every creature is drawn in one pass onto a single canvas.
+    CANVAS;
+
+    /**
+     * Gets the render mode chosen by the fishboid.renderer system property, scene graph when not set.
+     *
+     * @return render mode.
+     */
+    public static RenderMode fromSystemProperty() {
+        String mode = System.getProperty("fishboid.renderer", SCENE_GRAPH.name());
+        return valueOf(mode.toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+
+    /**
+     * Creates the renderer for this mode.
+     *
+     * @param simulationBoard board to draw onto.
+     * @return renderer.
+     */
+    public BoardRenderer createRenderer(Pane simulationBoard) {
+        return switch (this) {
+            case SCENE_GRAPH -> new SceneGraphRenderer(simulationBoard);
+            case CANVAS -> new CanvasRenderer(simulationBoard);
+        };
+    }
+}
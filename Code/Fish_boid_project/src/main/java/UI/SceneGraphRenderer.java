@@ -0,0 +1,168 @@
+/**
+ * SceneGraphRenderer.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package UI;
+
+import Main.CreatureStore;
+import Main.Fish;
+import Main.SeaCreature;
+import Main.Shark;
+import Main.SimulationWorld;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This is a scene graph renderer class, drawing every creature as its own group of shapes on the board.
+ * Views are added and removed as creatures come and go, and moved every frame.
+ * Removed views are kept per colour and handed to the next creature spawned with that colour.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+public class SceneGraphRenderer extends BoardRenderer {
+    private final Map<Colour, ArrayDeque<FishUiController>> fishViewPool = new EnumMap<>(Colour.class);
+    private final ArrayDeque<SharkUiController> sharkViewPool = new ArrayDeque<>();
+
+    /**
+     * Constructor for a scene graph renderer object.
+     *
+     * @param simulationBoard board to draw onto.
+     */
+    public SceneGraphRenderer(Pane simulationBoard) {
+        super(simulationBoard);
+        for (Colour colour : Colour.values()) {
+            fishViewPool.put(colour, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Sets the creature UI and adds it to the simulation board.
+     *
+     * @param creature Creature to set UI for.
+     * @param colour of fish UI.
+     */
+    public void addCreatureToBoard(SeaCreature creature, Colour colour) {
+        CreatureUiController entityUI = null;
+        if (creature instanceof Fish) {
+            entityUI = fishViewPool.get(colour).pollLast();
+            if (entityUI == null) {
+                entityUI = new FishUiController(colour);
+            }
+        } else if (creature instanceof Shark) {
+            entityUI = sharkViewPool.pollLast();
+            if (entityUI == null) {
+                entityUI = new SharkUiController();
+            }
+        }
+        entityUI.getView().setUserData(entityUI);//lets a cleared board hand its views back to the pool
+        creature.setEntityView(entityUI);//sets the creatures UI
+        simulationBoard.getChildren().add(entityUI.getView());//adds the set UI to the board
+    }
+
+    /**
+     * Takes a creature's view back into the pool, the caller removes it from the board.
+     *
+     * @param creature creature leaving the world.
+     * @return the released view, or null if it had none.
+     */
+    private Node releaseView(SeaCreature creature) {
+        if (!(creature.getEntityView() instanceof CreatureUiController entityUI)) {
+            return null;
+        }
+        creature.setEntityView(null);
+        poolView(entityUI);
+        return entityUI.getView();
+    }
+
+    /**
+     * Puts a view into the pool for its colour.
+     *
+     * @param entityUI view no longer on the board.
+     */
+    private void poolView(CreatureUiController entityUI) {
+        if (entityUI instanceof FishUiController fishUI) {
+            fishViewPool.get(fishUI.getColour()).addLast(fishUI);
+        } else if (entityUI instanceof SharkUiController sharkUI) {
+            sharkViewPool.addLast(sharkUI);
+        }
+    }
+
+    /**
+     * Adds a view for a creature spawned into the world.
+     *
+     * @param creature new creature.
+     */
+    @Override
+    public void creatureAdded(SeaCreature creature) {
+        int colour = creature.getColour();
+        addCreatureToBoard(creature, colour == CreatureStore.NO_COLOUR ? null : Colour.values()[colour]);
+    }
+
+    /**
+     * Removes the view of a creature that left the world.
+     *
+     * @param creature removed creature.
+     */
+    @Override
+    public void creatureRemoved(SeaCreature creature) {
+        Node view = releaseView(creature);
+        if (view != null) {
+            simulationBoard.getChildren().remove(view);
+        }
+    }
+
+    /**
+     * Removes the views of every creature that left the world this tick in one change to the board.
+     *
+     * @param creatures removed creatures.
+     */
+    @Override
+    public void creaturesRemoved(List<? extends SeaCreature> creatures) {
+        Set<Node> views = new HashSet<>();//set so removeAll checks each board node quickly
+        for (SeaCreature creature : creatures) {
+            Node view = releaseView(creature);
+            if (view != null) {
+                views.add(view);
+            }
+        }
+        simulationBoard.getChildren().removeAll(views);
+    }
+
+    /**
+     * Clear all group entities from the board.
+     */
+    @Override
+    public void worldCleared() {
+        for (Node node : simulationBoard.getChildren()) {
+            if (node.getUserData() instanceof CreatureUiController entityUI) {
+                poolView(entityUI);
+            }
+        }
+        simulationBoard.getChildren().removeIf(node -> node instanceof Group);
+    }
+
+    /**
+     * Shows the position and heading of every creature.
+     *
+     * @param world world to draw.
+     */
+    @Override
+    public void renderFrame(SimulationWorld world) {
+        for (int i = 0; i < world.getCreatureCount(); i++) {
+            SeaCreature creature = world.getCreature(i);
+            if (creature.isMoving()) {//views of creatures leaving the world may already be reused
+                creature.showEntityViewUpdate();
+            }
+        }
+    }
+}
@@ -7,15 +7,15 @@
 package UI;
 
 import Main.Applications;
-import Main.Fish;
-import Main.SeaCreature;
-import Main.Shark;
+import Main.TimeWarp;
 import javafx.fxml.FXML;
-import javafx.scene.Group;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
 import javafx.scene.control.ToggleButton;
+import javafx.scene.control.ToggleGroup;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
+import javafx.scene.text.Text;
 import java.util.Arrays;
 import java.util.List;
 
@@ -26,9 +26,13 @@ import java.util.List;
  * @version 1.0
  */
 public class UiController {
+    private static final int POPULATION_BATCH = 100, SHARK_BATCH = 5;//creatures spawned by one shift click
     public ToggleButton redBtn, greenBtn, purpleBtn, yellowBtn, blackBtn;
+    public ToggleButton warp1Btn, warp4Btn, warp16Btn, warpMaxBtn;
     public Button clearBtn;
     public Pane simulationBoard;
+    public Text stepRateText;
+    public Label profileOverlay;
     private List<ToggleButton> buttonSelections;
     private Applications app;
     private Colour colour;
@@ -46,6 +50,22 @@ public class UiController {
         buttonSelections = Arrays.asList(redBtn, greenBtn, purpleBtn, yellowBtn, blackBtn);
         simulationBoard.setOnMouseClicked(this::spawnEntity);
         clearBtn.setOnAction(_ -> clearAll());
+        //time warp buttons, one is always selected
+        warp1Btn.setUserData(TimeWarp.X1);
+        warp4Btn.setUserData(TimeWarp.X4);
+        warp16Btn.setUserData(TimeWarp.X16);
+        warpMaxBtn.setUserData(TimeWarp.MAX);
+        ToggleGroup warpGroup = new ToggleGroup();
+        for (ToggleButton button : Arrays.asList(warp1Btn, warp4Btn, warp16Btn, warpMaxBtn)) {
+            button.setToggleGroup(warpGroup);
+            button.setOnAction(_ -> {
+                if (!button.isSelected()) {
+                    button.setSelected(true);//clicking the current speed keeps it
+                }
+                app.setTimeWarp((TimeWarp) button.getUserData());
+            });
+        }
+        warp1Btn.setSelected(true);
         //button selection logic
         for (ToggleButton button : buttonSelections) {
             button.setOnAction(_ -> {
@@ -65,18 +85,23 @@ public class UiController {
      */
     private void clearAll() {
         app.clearAll();
-        simulationBoard.getChildren().removeIf(node -> node instanceof Group);
         resetButtons();
     }
 
     /**
-     * Spawns the entity in the main program.
+     * Spawns the entity in the main program, or with shift held a whole batch of them spread over the board.
      *
      * @param mouseEvent where the mouse is clicked to spawn the entity.
      */
     private void spawnEntity(MouseEvent mouseEvent) {
         double xPos = mouseEvent.getX(), yPos = mouseEvent.getY();
-        if (app.checkEntityDistances(xPos, yPos) && isWithinBoard(xPos, yPos)) {//in the board not on another entity
+        if (mouseEvent.isShiftDown()) {
+            if (fishButtonSelected()) {
+                app.populate("fish", POPULATION_BATCH, colour);
+            } else {
+                app.populate("shark", SHARK_BATCH, null);
+            }
+        } else if (app.checkEntityDistances(xPos, yPos) && isWithinBoard(xPos, yPos)) {//in the board not on another entity
             if (fishButtonSelected()) {
                 app.spawnEntity("fish", xPos, yPos, colour);
             } else {
@@ -112,23 +137,6 @@ public class UiController {
         return oneIsSelected;
     }
 
-    /**
-     * Sets the creature UI and adds it to the simulation board.
-     *
-     * @param creature Creature to set UI for.
-     * @param colour of fish UI.
-     */
-    public void addCreatureToBoard(SeaCreature creature, Colour colour) {
-        CreatureUiController entityUI = null;
-        if (creature instanceof Fish) {
-            entityUI = new FishUiController(colour);
-        } else if (creature instanceof Shark) {
-            entityUI = new SharkUiController();
-        }
-        creature.setEntityView(entityUI);//sets the creatures UI
-        simulationBoard.getChildren().add(creature.getEntityView().getView());//adds the set UI to the board
-    }
-
     /**
      * Resets all the button selection and highlight on the control panel
      */
@@ -168,6 +176,25 @@ public class UiController {
         button.setSelected(true);
     }
 
+    /**
+     * Shows the simulation steps actually run per second.
+     *
+     * @param stepsPerSecond steps per second.
+     */
+    public void showStepRate(double stepsPerSecond) {
+        stepRateText.setText(Math.round(stepsPerSecond) + " steps/s");
+    }
+
+    /**
+     * Shows the phase timings overlay on top of the board.
+     *
+     * @param summary phase timings table.
+     */
+    public void showProfile(String summary) {
+        profileOverlay.setText(summary);
+        profileOverlay.setVisible(true);
+    }
+
     /**
      * Sets the application.
      *
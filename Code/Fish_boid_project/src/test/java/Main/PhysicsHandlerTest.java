@@ -0,0 +1,79 @@
+/**
+ * PhysicsHandlerTest.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Random;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * This is a physics handler test class, checking the vector update moves every creature exactly as the scalar one does.
+ * ============
+ * A scalar world and a vector world are run side by side from the same seed and compared after every tick, so any
+ * difference in the speed clamp or the order of the sums shows up at the tick it happens.
+ * Runs in both precisions, as a float store goes through its own update with twice the lanes.
+ * Only runs in a vector profile build, mvn -Pvector test, and is skipped otherwise.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+class PhysicsHandlerTest {
+    private static final int FISH = 2000, SHARKS = 5;
+    private static final int TICKS = 300;
+    private static final long SEED = 42;
+
+    /**
+     * Checks every position and velocity comes out the same in both physics modes, tick by tick.
+     *
+     * @param precision how precisely both worlds keep their state.
+     */
+    @ParameterizedTest
+    @EnumSource(Precision.class)
+    void vectorUpdateMatchesScalarUpdate(Precision precision) {
+        assumeTrue(PhysicsMode.VECTOR.isAvailable(), "vector physics needs -Pvector");
+        SimulationWorld scalar = createWorld(PhysicsMode.SCALAR, precision);
+        SimulationWorld vector = createWorld(PhysicsMode.VECTOR, precision);
+        assertEquals(PhysicsMode.VECTOR, vector.getPhysicsHandler().getMode());
+        for (int tick = 0; tick < TICKS; tick++) {
+            scalar.step();
+            vector.step();
+            CreatureStore scalarStore = scalar.getStore(), vectorStore = vector.getStore();
+            assertEquals(scalarStore.size(), vectorStore.size());
+            for (int i = 0; i < scalarStore.size(); i++) {
+                String where = "tick " + tick + ", creature " + i;
+                assertEquals(scalarStore.getX(i), vectorStore.getX(i), where);
+                assertEquals(scalarStore.getY(i), vectorStore.getY(i), where);
+                assertEquals(scalarStore.getVelocityX(i), vectorStore.getVelocityX(i), where);
+                assertEquals(scalarStore.getVelocityY(i), vectorStore.getVelocityY(i), where);
+            }
+        }
+    }
+
+    /**
+     * Builds a world with randomly placed fish and a few sharks.
+     *
+     * @param mode physics mode.
+     * @param precision how precisely the world keeps its state.
+     * @return new world.
+     */
+    private static SimulationWorld createWorld(PhysicsMode mode, Precision precision) {
+        SimulationWorld world = new SimulationWorld(1400, 955, TickMode.SEQUENTIAL, SEED, mode, precision);
+        Random random = new Random(SEED);
+        for (int i = 0; i < FISH; i++) {
+            world.spawn("fish", random.nextDouble() * world.getWidth(), random.nextDouble() * world.getHeight(),
+                    random.nextInt(4));
+        }
+        for (int i = 0; i < SHARKS; i++) {
+            world.spawn("shark", random.nextDouble() * world.getWidth(), random.nextDouble() * world.getHeight(),
+                    CreatureStore.NO_COLOUR);
+        }
+        return world;
+    }
+}
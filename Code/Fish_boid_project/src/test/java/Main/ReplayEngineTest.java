@@ -0,0 +1,140 @@
+/**
+ * ReplayEngineTest.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This is a replay engine test class, checking a replay that checkpoints along the way ends up where the live run did.
+ * ============
+ * The live run has sharks eating and a fish spawned at every checkpoint tick, so a checkpoint taken at the wrong
+ * moment changes which store slots the new fish and the eaten fish's neighbours end up in.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+class ReplayEngineTest {
+    private static final long SEED = 42;
+    private static final int FISH = 2000, SHARKS = 3;
+    private static final int CHECKPOINT_INTERVAL = ReplayEngine.DEFAULT_CHECKPOINT_INTERVAL;
+    private static final long END_TICK = 5010;
+    private static final long SEEK_TICK = 3 * CHECKPOINT_INTERVAL;//a checkpoint tick with a spawn logged at it
+    private static InputLog log;
+    private static WorldState liveAtSeek;
+    private static WorldState liveAtEnd;
+
+    /**
+     * Runs the live world once, logging every input, and keeps its state at the ticks the replays are checked at.
+     */
+    @BeforeAll
+    static void runLive() {
+        SimulationWorld live = new SimulationWorld(0, 0, TickMode.SEQUENTIAL, SEED);
+        log = new InputLog(live);
+        log.bounds(live.getTick(), 990, 675);
+        live.setBounds(990, 675);
+        Random random = new Random(SEED);
+        for (int i = 0; i < FISH; i++) {
+            spawn(live, "fish", random.nextDouble() * 990, random.nextDouble() * 675, random.nextInt(4));
+        }
+        for (int i = 0; i < SHARKS; i++) {
+            spawn(live, "shark", random.nextDouble() * 990, random.nextDouble() * 675, CreatureStore.NO_COLOUR);
+        }
+        while (live.getTick() < END_TICK) {
+            if (live.getTick() == SEEK_TICK) {
+                liveAtSeek = new WorldState(live);//before the spawn, as a seek leaves the inputs at its tick unapplied
+            }
+            if (live.getTick() > 0 && live.getTick() % CHECKPOINT_INTERVAL == 0) {
+                spawn(live, "fish", random.nextDouble() * 990, random.nextDouble() * 675, random.nextInt(4));
+            }
+            live.step();
+        }
+        liveAtEnd = new WorldState(live);
+    }
+
+    /**
+     * Spawns a creature into the live world and logs it.
+     *
+     * @param live live world.
+     * @param type creature type.
+     * @param x position.
+     * @param y position.
+     * @param colour fish colour ordinal.
+     */
+    private static void spawn(SimulationWorld live, String type, double x, double y, int colour) {
+        log.spawn(live.getTick(), type, x, y, colour);
+        live.spawn(type, x, y, colour);
+    }
+
+    /**
+     * Checks replaying straight through, checkpointing on the way, ends where the live run did.
+     */
+    @Test
+    void checkpointedReplayMatchesLiveRun() {
+        ReplayEngine replay = new ReplayEngine(log, TickMode.SEQUENTIAL, CHECKPOINT_INTERVAL);
+        replay.runTo(END_TICK);
+        assertTrue(replay.getCheckpointCount() > 1);
+        liveAtEnd.assertMatches(replay.getWorld());
+    }
+
+    /**
+     * Checks seeking back to a checkpoint tick and replaying on from it ends where the live run did.
+     *
+     * @throws IOException if a checkpoint cannot be loaded.
+     */
+    @Test
+    void seekFromCheckpointMatchesLiveRun() throws IOException {
+        ReplayEngine replay = new ReplayEngine(log, TickMode.PARALLEL, CHECKPOINT_INTERVAL);
+        replay.runTo(END_TICK);
+        replay.seek(SEEK_TICK);
+        liveAtSeek.assertMatches(replay.getWorld());
+        replay.seek(END_TICK);
+        liveAtEnd.assertMatches(replay.getWorld());
+    }
+
+    /**
+     * Checks a log keeps the modes its world ran in through a save and load, and a replay runs in them.
+     *
+     * @param directory directory the log is saved in.
+     * @throws IOException if the log cannot be saved or loaded.
+     */
+    @Test
+    void replayRunsInLoggedModes(@TempDir Path directory) throws IOException {
+        SimulationWorld live = new SimulationWorld(0, 0, TickMode.PARALLEL, SEED, PhysicsMode.SCALAR, Precision.FLOAT);
+        InputLog floatLog = new InputLog(live);
+        floatLog.bounds(live.getTick(), 990, 675);
+        live.setBounds(990, 675);
+        Random random = new Random(SEED);
+        for (int i = 0; i < 200; i++) {
+            double x = random.nextDouble() * 990;
+            double y = random.nextDouble() * 675;
+            int colour = random.nextInt(4);
+            floatLog.spawn(live.getTick(), "fish", x, y, colour);
+            live.spawn("fish", x, y, colour);
+        }
+        while (live.getTick() < CHECKPOINT_INTERVAL + 10) {
+            live.step();
+        }
+        Path file = directory.resolve("inputs.bin");
+        floatLog.save(file);
+        InputLog loaded = InputLog.load(file);
+        assertEquals(TickMode.PARALLEL, loaded.getTickMode());
+        assertEquals(PhysicsMode.SCALAR, loaded.getPhysicsMode());
+        assertEquals(Precision.FLOAT, loaded.getPrecision());
+        ReplayEngine replay = new ReplayEngine(loaded, CHECKPOINT_INTERVAL);
+        assertEquals(Precision.FLOAT, replay.getWorld().getPrecision());
+        replay.runTo(live.getTick());
+        new WorldState(live).assertMatches(replay.getWorld());
+    }
+}
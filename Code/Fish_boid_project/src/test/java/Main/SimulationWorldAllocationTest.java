@@ -0,0 +1,57 @@
+/**
+ * SimulationWorldAllocationTest.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * This is a simulation world allocation test class, checking a steady state tick makes no garbage.
+ * ============
+ * The world is warmed up until the tick has been compiled, then the bytes allocated by the stepping thread are
+ * measured over many ticks.
+ * Only the calling thread is measured, so in parallel mode this covers the fork join set up and the in order passes,
+ * the steering itself being covered by the sequential run.
+ * There are no sharks, so no fish are eaten and the creature list never changes.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+class SimulationWorldAllocationTest {
+    private static final int FISH = 1000;
+    private static final int WARM_UP_TICKS = 3000;
+    private static final int MEASURED_TICKS = 500;
+    private static final long BYTES_PER_TICK = 64;//slack for the fork join pool waking a parked worker
+
+    /**
+     * Checks stepping a warmed up world allocates next to nothing per tick.
+     *
+     * @param tickMode how each tick is worked out.
+     */
+    @ParameterizedTest
+    @EnumSource(TickMode.class)
+    void steadyStateStepDoesNotAllocate(TickMode tickMode) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        SimulationWorld world = new SimulationWorld(990, 675, tickMode, 42);
+        Random random = new Random(42);
+        for (int i = 0; i < FISH; i++) {
+            world.spawn("fish", random.nextDouble() * world.getWidth(), random.nextDouble() * world.getHeight(),
+                    random.nextInt(4));
+        }
+        world.step(WARM_UP_TICKS);
+        long before = threads.getThreadAllocatedBytes(threadId);
+        world.step(MEASURED_TICKS);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        assertTrue(allocated <= BYTES_PER_TICK * MEASURED_TICKS,
+                tickMode + " tick allocated " + allocated / MEASURED_TICKS + " bytes per tick");
+    }
+}
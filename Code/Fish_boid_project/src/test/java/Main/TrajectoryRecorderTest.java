@@ -0,0 +1,165 @@
+/**
+ * TrajectoryRecorderTest.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This is a trajectory recorder test class, checking every frame read back is exactly what was recorded.
+ * ============
+ * Sharks eat fish and new fish are spawned while recording, so fish leave the frames, other creatures take over
+ * their store slots and ids keep growing.
+ * Ids start just below the largest int and run past it, so nothing may depend on an id fitting in one.
+ * Small chunks put many chunk boundaries in the run, and a range starting part way into a chunk is read as well.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+class TrajectoryRecorderTest {
+    private static final long SEED = 42;
+    private static final int FISH = 500, SHARKS = 3;
+    private static final int TICKS = 400;
+    private static final int FRAMES_PER_CHUNK = 16;
+    private static final int SPAWN_INTERVAL = 7;//ticks between each new fish
+    private static final long FIRST_ID = Integer.MAX_VALUE - 100L;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Checks a whole recording and a range within it both read back as the frames that were recorded.
+     *
+     * @throws IOException if the recording cannot be written or read.
+     */
+    @Test
+    void framesReadBackAsRecorded() throws IOException {
+        SimulationWorld world = new SimulationWorld(990, 675, TickMode.SEQUENTIAL, SEED);
+        world.setCounters(SEED, 0, FIRST_ID);
+        Random random = new Random(SEED);
+        for (int i = 0; i < FISH; i++) {
+            world.spawn("fish", random.nextDouble() * 990, random.nextDouble() * 675, random.nextInt(4));
+        }
+        for (int i = 0; i < SHARKS; i++) {
+            world.spawn("shark", random.nextDouble() * 990, random.nextDouble() * 675, CreatureStore.NO_COLOUR);
+        }
+        Path file = directory.resolve("fish.trajectory");
+        List<TrajectoryFrame> recorded = new ArrayList<>();
+        try (TrajectoryRecorder recorder = new TrajectoryRecorder(file, FRAMES_PER_CHUNK)) {
+            world.addObserver(recorder);
+            world.addObserver(new FrameCopier(recorded));
+            for (int tick = 0; tick < TICKS; tick++) {
+                if (tick % SPAWN_INTERVAL == 0) {
+                    world.spawn("fish", random.nextDouble() * 990, random.nextDouble() * 675, random.nextInt(4));
+                }
+                world.step();
+            }
+        }
+        try (TrajectoryReader reader = new TrajectoryReader(file)) {
+            assertEquals(recorded.get(0).getTick(), reader.getFirstTick());
+            assertEquals(recorded.get(TICKS - 1).getTick(), reader.getLastTick());
+            assertFramesEqual(recorded, reader.readFrames(reader.getFirstTick(), reader.getLastTick()));
+            int from = FRAMES_PER_CHUNK * 3 + 5, to = FRAMES_PER_CHUNK * 9 + 2;
+            assertFramesEqual(recorded.subList(from, to + 1),
+                    reader.readFrames(recorded.get(from).getTick(), recorded.get(to).getTick()));
+        }
+    }
+
+    /**
+     * Checks two lists of frames hold exactly the same fish and values.
+     *
+     * @param expected frames recorded.
+     * @param actual frames read back.
+     */
+    private static void assertFramesEqual(List<TrajectoryFrame> expected, List<TrajectoryFrame> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int frame = 0; frame < expected.size(); frame++) {
+            TrajectoryFrame want = expected.get(frame), got = actual.get(frame);
+            assertEquals(want.getTick(), got.getTick());
+            assertEquals(want.getCount(), got.getCount(), "tick " + want.getTick());
+            for (int i = 0; i < want.getCount(); i++) {
+                String where = "tick " + want.getTick() + ", fish " + i;
+                assertEquals(want.getId(i), got.getId(i), where);
+                assertEquals(want.getX(i), got.getX(i), where);
+                assertEquals(want.getY(i), got.getY(i), where);
+                assertEquals(want.getHeading(i), got.getHeading(i), where);
+            }
+        }
+    }
+
+    /**
+     * This is a frame copier class, an observer keeping the frame the recorder should write at the end of each tick,
+     * quantised the same way.
+     */
+    private static final class FrameCopier implements WorldObserver {
+        private final List<TrajectoryFrame> frames;
+
+        /**
+         * Constructor for a frame copier object.
+         *
+         * @param frames list to add each frame to.
+         */
+        FrameCopier(List<TrajectoryFrame> frames) {
+            this.frames = frames;
+        }
+
+        /**
+         * Nothing to copy until the tick is over.
+         *
+         * @param creature new creature.
+         */
+        @Override
+        public void creatureAdded(SeaCreature creature) {
+        }
+
+        /**
+         * Nothing to copy, the fish is simply missing from the next frame.
+         *
+         * @param creature removed creature.
+         */
+        @Override
+        public void creatureRemoved(SeaCreature creature) {
+        }
+
+        /**
+         * Copies every moving fish in store order.
+         *
+         * @param world world that ticked.
+         */
+        @Override
+        public void tickCompleted(SimulationWorld world) {
+            CreatureStore store = world.getStore();
+            List<SeaCreature> fish = new ArrayList<>();
+            for (int i = 0; i < store.size(); i++) {
+                if (store.species[i] == CreatureStore.FISH && store.get(i).moving) {
+                    fish.add(store.get(i));
+                }
+            }
+            long[] ids = new long[fish.size()];
+            double[] xs = new double[fish.size()], ys = new double[fish.size()], headings = new double[fish.size()];
+            for (int i = 0; i < fish.size(); i++) {
+                SeaCreature creature = fish.get(i);
+                ids[i] = creature.getId();
+                xs[i] = (double) Math.round(creature.getX() * TrajectoryRecorder.POSITION_SCALE)
+                        / TrajectoryRecorder.POSITION_SCALE;
+                ys[i] = (double) Math.round(creature.getY() * TrajectoryRecorder.POSITION_SCALE)
+                        / TrajectoryRecorder.POSITION_SCALE;
+                int steps = TrajectoryRecorder.HEADING_STEPS;
+                int heading = (int) Math.round(creature.getHeading() / (2 * Math.PI) * steps) & (steps - 1);
+                headings[i] = heading * 2 * Math.PI / steps;
+            }
+            frames.add(new TrajectoryFrame(world.getTick(), ids, xs, ys, headings));
+        }
+    }
+}
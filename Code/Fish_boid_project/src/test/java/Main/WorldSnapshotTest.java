@@ -0,0 +1,106 @@
+/**
+ * WorldSnapshotTest.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * This is a world snapshot test class, checking a world saved, loaded and stepped on ends up where the uninterrupted
+ * run did.
+ * ============
+ * Sharks eat fish on both sides of the save, so the loaded world has to carry on with the same store slots, list
+ * orders and random streams as the saved one.
+ * The snapshot is loaded into a world that has already run with other creatures, so the loaded creatures come out
+ * of its pool rather than being made fresh.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+class WorldSnapshotTest {
+    private static final long SEED = 42;
+    private static final int FISH = 1000, SHARKS = 3;
+    private static final int SAVE_TICK = 300;
+    private static final int END_TICK = 1000;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Checks a save, load and step run stays exactly the same as a run that was never saved.
+     *
+     * @param tickMode how each tick is worked out.
+     * @throws IOException if the snapshot cannot be written or read.
+     */
+    @ParameterizedTest
+    @EnumSource(TickMode.class)
+    void loadedWorldContinuesLikeUninterruptedRun(TickMode tickMode) throws IOException {
+        checkContinuation(tickMode, Precision.DOUBLE);
+    }
+
+    /**
+     * Checks a float world saved as doubles loads back and carries on exactly too.
+     *
+     * @param tickMode how each tick is worked out.
+     * @throws IOException if the snapshot cannot be written or read.
+     */
+    @ParameterizedTest
+    @EnumSource(TickMode.class)
+    void loadedFloatWorldContinuesLikeUninterruptedRun(TickMode tickMode) throws IOException {
+        checkContinuation(tickMode, Precision.FLOAT);
+    }
+
+    /**
+     * Saves a world, loads it into another and checks both match the uninterrupted run.
+     *
+     * @param tickMode how each tick is worked out.
+     * @param precision how precisely the worlds keep their state.
+     * @throws IOException if the snapshot cannot be written or read.
+     */
+    private void checkContinuation(TickMode tickMode, Precision precision) throws IOException {
+        SimulationWorld uninterrupted = createWorld(tickMode, precision, SEED);
+        uninterrupted.step(END_TICK);
+
+        SimulationWorld saved = createWorld(tickMode, precision, SEED);
+        saved.step(SAVE_TICK);
+        Path file = directory.resolve("world.snapshot");
+        WorldSnapshot.save(saved, file);
+
+        SimulationWorld loaded = createWorld(tickMode, precision, SEED + 1);
+        loaded.step(SAVE_TICK / 2);//fills its pool with eaten fish to load into
+        WorldSnapshot.load(loaded, file);
+        new WorldState(saved).assertMatches(loaded);
+        loaded.step(END_TICK - SAVE_TICK);
+        new WorldState(uninterrupted).assertMatches(loaded);
+    }
+
+    /**
+     * Builds a world with randomly placed fish and a few sharks.
+     *
+     * @param tickMode how each tick is worked out.
+     * @param precision how precisely the world keeps its state.
+     * @param seed world and placement seed.
+     * @return new world.
+     */
+    private static SimulationWorld createWorld(TickMode tickMode, Precision precision, long seed) {
+        SimulationWorld world = new SimulationWorld(990, 675, tickMode, seed, PhysicsMode.SCALAR, precision);
+        Random random = new Random(seed);
+        for (int i = 0; i < FISH; i++) {
+            world.spawn("fish", random.nextDouble() * world.getWidth(), random.nextDouble() * world.getHeight(),
+                    random.nextInt(4));
+        }
+        for (int i = 0; i < SHARKS; i++) {
+            world.spawn("shark", random.nextDouble() * world.getWidth(), random.nextDouble() * world.getHeight(),
+                    CreatureStore.NO_COLOUR);
+        }
+        return world;
+    }
+}
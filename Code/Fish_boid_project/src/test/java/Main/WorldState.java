@@ -0,0 +1,57 @@
+/**
+ * WorldState.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * This is a world state class, a copy of every creature's id and motion in store order for comparing two runs.
+ * Copied without applying pending changes, as doing so early is the very thing that would change the run.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+final class WorldState {
+    private final long tick;
+    private final int fishCount;
+    private final long[] ids;
+    private final double[] motion;
+
+    /**
+     * Constructor for a world state object.
+     *
+     * @param world world to copy.
+     */
+    WorldState(SimulationWorld world) {
+        CreatureStore store = world.getStore();
+        tick = world.getTick();
+        fishCount = world.getFishes().size();
+        ids = new long[store.size()];
+        motion = new double[store.size() * 4];
+        for (int i = 0; i < store.size(); i++) {
+            ids[i] = store.creatures[i].getId();
+            motion[i * 4] = store.getX(i);
+            motion[i * 4 + 1] = store.getY(i);
+            motion[i * 4 + 2] = store.getVelocityX(i);
+            motion[i * 4 + 3] = store.getVelocityY(i);
+        }
+    }
+
+    /**
+     * Checks another world is in exactly this state.
+     *
+     * @param world world to compare.
+     */
+    void assertMatches(SimulationWorld world) {
+        WorldState other = new WorldState(world);
+        assertEquals(tick, other.tick);
+        assertEquals(fishCount, other.fishCount);
+        assertArrayEquals(ids, other.ids);
+        assertArrayEquals(motion, other.motion);
+    }
+}
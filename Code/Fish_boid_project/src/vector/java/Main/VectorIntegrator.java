@@ -0,0 +1,107 @@
+/**
+ * VectorIntegrator.java
+ * <p>
+ * Copyright (c) 2025 Jacob Broomfield.
+ * All rights reserved.
+ */
+package Main;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This is a vector integrator class, the physics update for several creatures per instruction.
+ * ============
+ * The preferred species is as wide as the CPU allows, four doubles or eight floats with AVX2 and twice that with
+ * AVX-512, so a float store moves twice as many creatures per instruction.
+ * Every lane does the same operations in the same order as the scalar update, including the speed clamp,
+ * which is worked out for every lane and only kept where the speed is over the limit,
+ * so the results are exactly the same as the scalar update.
+ * Creatures left over after the last full vector go through the scalar update.
+ * Only compiled with the vector build profile and only loaded in vector physics mode, so the rest of the program
+ * builds and runs without the vector API module.
+ *
+ * @author Jacob Broomfield
+ * @version 1.0
+ */
+final class VectorIntegrator implements RangeIntegrator {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    /**
+     * Adds acceleration to velocity and velocity to position for a range of creatures.
+     *
+     * @param store creature store to read from.
+     * @param from first creature index.
+     * @param to index after the last creature.
+     * @param x x positions to write to.
+     * @param y y positions to write to.
+     * @param vx x velocities to write to.
+     * @param vy y velocities to write to.
+     * @return index after the last creature done, the rest are left for the scalar update.
+     */
+    @Override
+    public int integrate(CreatureStore store, int from, int to, double[] x, double[] y, double[] vx, double[] vy) {
+        double[] currentX = store.x, currentY = store.y, currentVx = store.vx, currentVy = store.vy;
+        double[] ax = store.ax, ay = store.ay, maxSpeed = store.maxSpeed;
+        DoubleVector zero = DoubleVector.zero(SPECIES);
+        int i = from;
+        for (int end = from + SPECIES.loopBound(to - from); i < end; i += SPECIES.length()) {
+            DoubleVector velocityX = DoubleVector.fromArray(SPECIES, currentVx, i).add(DoubleVector.fromArray(SPECIES, ax, i));
+            DoubleVector velocityY = DoubleVector.fromArray(SPECIES, currentVy, i).add(DoubleVector.fromArray(SPECIES, ay, i));
+            //velocity limited to max speed in the lanes going too fast
+            DoubleVector limit = DoubleVector.fromArray(SPECIES, maxSpeed, i);
+            DoubleVector speed = velocityX.mul(velocityX).add(velocityY.mul(velocityY)).lanewise(VectorOperators.SQRT);
+            VectorMask<Double> tooFast = speed.compare(VectorOperators.GT, limit);
+            velocityX = velocityX.blend(velocityX.div(speed).mul(limit), tooFast);
+            velocityY = velocityY.blend(velocityY.div(speed).mul(limit), tooFast);
+            velocityX.intoArray(vx, i);
+            velocityY.intoArray(vy, i);
+            DoubleVector.fromArray(SPECIES, currentX, i).add(velocityX).intoArray(x, i);
+            DoubleVector.fromArray(SPECIES, currentY, i).add(velocityY).intoArray(y, i);
+            zero.intoArray(ax, i);
+            zero.intoArray(ay, i);
+        }
+        return i;
+    }
+
+    /**
+     * Adds acceleration to velocity and velocity to position for a range of creatures in a float store.
+     *
+     * @param store float creature store to read from.
+     * @param from first creature index.
+     * @param to index after the last creature.
+     * @param x x positions to write to.
+     * @param y y positions to write to.
+     * @param vx x velocities to write to.
+     * @param vy y velocities to write to.
+     * @return index after the last creature done, the rest are left for the scalar update.
+     */
+    @Override
+    public int integrate(CreatureStore store, int from, int to, float[] x, float[] y, float[] vx, float[] vy) {
+        float[] currentX = store.floatX, currentY = store.floatY, currentVx = store.floatVx, currentVy = store.floatVy;
+        float[] ax = store.floatAx, ay = store.floatAy, maxSpeed = store.floatMaxSpeed;
+        FloatVector zero = FloatVector.zero(FLOAT_SPECIES);
+        int i = from;
+        for (int end = from + FLOAT_SPECIES.loopBound(to - from); i < end; i += FLOAT_SPECIES.length()) {
+            FloatVector velocityX = FloatVector.fromArray(FLOAT_SPECIES, currentVx, i).add(FloatVector.fromArray(FLOAT_SPECIES, ax, i));
+            FloatVector velocityY = FloatVector.fromArray(FLOAT_SPECIES, currentVy, i).add(FloatVector.fromArray(FLOAT_SPECIES, ay, i));
+            //velocity limited to max speed in the lanes going too fast
+            FloatVector limit = FloatVector.fromArray(FLOAT_SPECIES, maxSpeed, i);
+            FloatVector speed = velocityX.mul(velocityX).add(velocityY.mul(velocityY)).lanewise(VectorOperators.SQRT);
+            VectorMask<Float> tooFast = speed.compare(VectorOperators.GT, limit);
+            velocityX = velocityX.blend(velocityX.div(speed).mul(limit), tooFast);
+            velocityY = velocityY.blend(velocityY.div(speed).mul(limit), tooFast);
+            velocityX.intoArray(vx, i);
+            velocityY.intoArray(vy, i);
+            FloatVector.fromArray(FLOAT_SPECIES, currentX, i).add(velocityX).intoArray(x, i);
+            FloatVector.fromArray(FLOAT_SPECIES, currentY, i).add(velocityY).intoArray(y, i);
+            zero.intoArray(ax, i);
+            zero.intoArray(ay, i);
+        }
+        return i;
+    }
+}